@@ -1,7 +1,7 @@
 package io.github.anthonyclemens.GameObjects;
 
 import java.io.Serializable;
-import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.newdawn.slick.geom.Rectangle;
 
@@ -10,6 +10,13 @@ import io.github.anthonyclemens.Rendering.IsoRenderer;
 import io.github.anthonyclemens.WorldGen.Biome;
 
 public abstract class GameObject implements Serializable{
+    private static final long serialVersionUID = 1L;
+    // Values of indexCell other than these are the chunk cell index plus one
+    public static final int NOT_INDEXED = 0;
+    public static final int INDEXED_LARGE = -1;
+    // Source of entity IDs for the current world; saved with it so loaded objects never collide with new ones
+    private static final AtomicLong NEXT_ID = new AtomicLong(1);
+
     protected int x;
     protected int y;
     protected transient float previousX;
@@ -20,7 +27,7 @@ public abstract class GameObject implements Serializable{
     protected transient float renderY;
     protected boolean peaceful = true;
     protected String name;
-    protected UUID uuid;
+    protected final long id;
     protected transient Rectangle hitbox;
     protected String tileSheet;
     protected Biome biome;
@@ -29,6 +36,10 @@ public abstract class GameObject implements Serializable{
     protected boolean solid = true;
     protected boolean alwaysCalcHitbox = false;
     protected transient boolean hover = false;
+    // Bucket this object occupies in its chunk's GameObjectIndex
+    private transient int indexCell = NOT_INDEXED;
+    // Position in the owning chunk's object list, for swap-remove
+    private transient int chunkSlot = -1;
 
     protected GameObject(String tileSheet, int x, int y, int chunkX, int chunkY, String objName) {
         this.x = x;
@@ -38,8 +49,7 @@ public abstract class GameObject implements Serializable{
         this.name=objName;
         this.tileSheet = tileSheet;
         this.hitbox = new Rectangle(0,0,0,0);
-        // generate unique identifier for this object
-        this.uuid = UUID.randomUUID();
+        this.id = NEXT_ID.getAndIncrement();
     }
 
     public int getX() {
@@ -103,10 +113,25 @@ public abstract class GameObject implements Serializable{
     }
 
     /**
-     * Get the UUID identifier for this GameObject.
+     * Get the entity ID of this GameObject, unique within a world.
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    /**
+     * @return The ID the next GameObject will get; saved so a loaded world can resume from it.
+     */
+    public static long getNextId() {
+        return NEXT_ID.get();
+    }
+
+    /**
+     * Starts handing out IDs from the given value; called when a world is created or loaded,
+     * so each world numbers its objects on its own.
      */
-    public UUID getUUID() {
-        return this.uuid;
+    public static void resetIds(long nextId) {
+        NEXT_ID.set(nextId);
     }
 
     public boolean isSolid(){
@@ -164,6 +189,22 @@ public abstract class GameObject implements Serializable{
         this.hover = hover;
     }
 
+    public int getIndexCell() {
+        return indexCell;
+    }
+
+    public void setIndexCell(int indexCell) {
+        this.indexCell = indexCell;
+    }
+
+    public int getChunkSlot() {
+        return chunkSlot;
+    }
+
+    public void setChunkSlot(int chunkSlot) {
+        this.chunkSlot = chunkSlot;
+    }
+
     public void setLocation(int x, int y, int chunkX, int chunkY){
         this.x=x;
         this.y=y;
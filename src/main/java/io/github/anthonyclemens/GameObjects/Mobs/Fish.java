@@ -10,6 +10,7 @@ import io.github.anthonyclemens.Rendering.IsoRenderer;
 import io.github.anthonyclemens.Rendering.SpriteManager;
 import io.github.anthonyclemens.WorldGen.Biome;
 import io.github.anthonyclemens.WorldGen.Chunk;
+import io.github.anthonyclemens.WorldGen.MovementClass;
 import io.github.anthonyclemens.states.Game;
 
 public class Fish extends Mob{
@@ -27,6 +28,7 @@ public class Fish extends Mob{
         this.droppedItem = new Item(spriteSheet, "ITEM_FISH", this.animationIndex, x, y, chunkX, chunkY);
         this.droppedItem.setQuantity(1);
         this.biomes = new Biome[]{Biome.WATER};
+        this.movementClass = MovementClass.WATER;
         this.mobSpeed=1f;
         this.smoothness=0.02f;
         this.setSway(1000f);
@@ -38,9 +40,9 @@ public class Fish extends Mob{
     public void update(IsoRenderer r, int deltaTime) {
         if(this.dropItem){
             int[] currentLoc = r.screenToIsometric(renderX, renderY);
-            Chunk thisChunk = r.getChunkManager().getChunk(chunkX, chunkY);
+            Chunk thisChunk = r.getChunkManager().peekChunk(chunkX, chunkY);
             this.droppedItem.setLocation(currentLoc[0],currentLoc[1],currentLoc[2],currentLoc[3]);
-            thisChunk.addGameObject(this.droppedItem);
+            if (thisChunk != null) thisChunk.addGameObject(this.droppedItem);
         }
         super.update(r,deltaTime);
         if(!List.of(this.biomes).contains(r.getChunkManager().getBiomeForChunk(chunkX,chunkY))) this.removeHealth(1);
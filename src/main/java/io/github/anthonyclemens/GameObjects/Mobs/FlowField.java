@@ -0,0 +1,206 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import java.util.Arrays;
+
+import io.github.anthonyclemens.WorldGen.TileGrid;
+
+/**
+ * Dijkstra map toward one goal tile, over a square of tiles around it: each tile holds the
+ * cost of the cheapest path from it to the goal, weighing tiles by the grid's step cost as
+ * Pathfinder does. Step costs are small integers, so the search runs on a bucket queue.
+ * Any number of mobs chasing the same goal read their next steps from one map instead of
+ * each running its own search. The map is only rebuilt when the goal moves to another tile
+ * or the caller's walkability version changes; readers always see a complete map.
+ */
+public class FlowField {
+    public static final int DEFAULT_RADIUS = Pathfinder.DEFAULT_MAX_RADIUS;
+    public static final int UNREACHABLE = Integer.MAX_VALUE;
+    // Step costs above this are treated as this; one bucket per cost, plus the current one
+    public static final int MAX_STEP_COST = 15;
+    private static final int BUCKETS = MAX_STEP_COST + 1;
+    private static final int[] DIR_X = {1, -1, 0, 0};
+    private static final int[] DIR_Y = {0, 0, 1, -1};
+
+    private static final class Field {
+        final int goalX;
+        final int goalY;
+        final long version;
+        final int originX;
+        final int originY;
+        final int side;
+        final int[] dist;
+        // Step cost of each tile, TileGrid.BLOCKED for blocked or never reached
+        final byte[] cost;
+
+        Field(int goalX, int goalY, long version, int radius) {
+            this.goalX = goalX;
+            this.goalY = goalY;
+            this.version = version;
+            this.originX = goalX - radius;
+            this.originY = goalY - radius;
+            this.side = radius * 2 + 1;
+            this.dist = new int[side * side];
+            this.cost = new byte[side * side];
+        }
+    }
+
+    private final int radius;
+    private volatile Field field;
+    private volatile long rebuilds = 0;
+
+    public FlowField() {
+        this(DEFAULT_RADIUS);
+    }
+
+    /**
+     * @param radius How far from the goal, per axis, distances are computed.
+     */
+    public FlowField(int radius) {
+        this.radius = Math.max(1, radius);
+    }
+
+    /**
+     * Rebuilds the map if the goal tile or the walkability version changed since the last build.
+     * @param grid    Tells which tiles are blocked.
+     * @param version Walkability version the grid reflects.
+     * @return True if the map was rebuilt.
+     */
+    public synchronized boolean update(TileGrid grid, long version, int goalX, int goalY) {
+        Field current = field;
+        if (current != null && current.goalX == goalX && current.goalY == goalY && current.version == version) {
+            return false;
+        }
+        // Built aside and published whole, so mobs reading the old map are never disturbed
+        field = build(grid, goalX, goalY, version);
+        rebuilds++;
+        return true;
+    }
+
+    /**
+     * @return Cost of the cheapest path from the tile to the goal, which is the step count on
+     *         unweighted ground, or UNREACHABLE if it is blocked, cut off or outside the map.
+     */
+    public int distanceAt(int absX, int absY) {
+        Field f = field;
+        if (f == null) return UNREACHABLE;
+        return distance(f, absX, absY);
+    }
+
+    /**
+     * Writes the cheapest path from a tile toward the goal into out, starting with that tile, as
+     * Pathfinder does. Each step is a lookup of the four neighbours.
+     * @param maxSteps Most steps to write after the start tile.
+     * @return False if the tile cannot reach the goal through the map; out is then untouched.
+     */
+    public boolean followInto(int absX, int absY, int maxSteps, TilePath out) {
+        Field f = field;
+        if (f == null) return false;
+        int d = distance(f, absX, absY);
+        if (d == UNREACHABLE) return false;
+
+        out.clear();
+        out.add(absX, absY);
+        int x = absX;
+        int y = absY;
+        for (int step = 0; step < maxSteps && d > 0; step++) {
+            // The best neighbour is the one whose distance plus the cost of stepping onto it is least
+            int bestDir = -1;
+            int best = UNREACHABLE;
+            for (int dir = 0; dir < DIR_X.length; dir++) {
+                int nx = x + DIR_X[dir] - f.originX;
+                int ny = y + DIR_Y[dir] - f.originY;
+                if (nx < 0 || ny < 0 || nx >= f.side || ny >= f.side) continue;
+                int n = ny * f.side + nx;
+                if (f.dist[n] == UNREACHABLE) continue;
+                int through = f.dist[n] + f.cost[n];
+                if (through < best) {
+                    best = through;
+                    bestDir = dir;
+                }
+            }
+            if (bestDir < 0 || best > d) break;
+            x += DIR_X[bestDir];
+            y += DIR_Y[bestDir];
+            d = distance(f, x, y);
+            out.add(x, y);
+        }
+        return true;
+    }
+
+    /**
+     * @return How many times the map has been rebuilt.
+     */
+    public long getRebuildCount() {
+        return rebuilds;
+    }
+
+    private static int distance(Field f, int absX, int absY) {
+        int lx = absX - f.originX;
+        int ly = absY - f.originY;
+        if (lx < 0 || ly < 0 || lx >= f.side || ly >= f.side) return UNREACHABLE;
+        return f.dist[ly * f.side + lx];
+    }
+
+    private Field build(TileGrid grid, int goalX, int goalY, long version) {
+        Field f = new Field(goalX, goalY, version, radius);
+        int side = f.side;
+        int[] dist = f.dist;
+        byte[] cost = f.cost;
+        Arrays.fill(dist, UNREACHABLE);
+        // Bucket d % BUCKETS holds tiles at distance d; a tile settled at d only adds to d + 1..d + MAX_STEP_COST
+        int[][] buckets = new int[BUCKETS][16];
+        int[] sizes = new int[BUCKETS];
+        int queued = 0;
+        // The goal counts even if something stands on it; the player is never a blocker
+        int goal = radius * side + radius;
+        dist[goal] = 0;
+        cost[goal] = (byte) clampCost(grid.stepCost(goalX, goalY));
+        buckets[0][sizes[0]++] = goal;
+        queued++;
+        for (int d = 0; queued > 0; d++) {
+            int b = d % BUCKETS;
+            int[] bucket = buckets[b];
+            int count = sizes[b];
+            sizes[b] = 0;
+            queued -= count;
+            for (int i = 0; i < count; i++) {
+                int cell = bucket[i];
+                // Left behind when the tile was later reached more cheaply
+                if (dist[cell] != d) continue;
+                int cx = cell % side;
+                int cy = cell / side;
+                // Walking from a neighbour onto this tile costs this tile's step cost
+                int nd = d + cost[cell];
+                for (int dir = 0; dir < DIR_X.length; dir++) {
+                    int nx = cx + DIR_X[dir];
+                    int ny = cy + DIR_Y[dir];
+                    if (nx < 0 || ny < 0 || nx >= side || ny >= side) continue;
+                    int n = ny * side + nx;
+                    if (dist[n] == UNREACHABLE - 1 || nd >= dist[n]) continue;
+                    if (cost[n] == TileGrid.BLOCKED) {
+                        int c = grid.stepCost(f.originX + nx, f.originY + ny);
+                        if (c == TileGrid.BLOCKED) {
+                            // Marked so it is not probed again; it stays unreachable to readers
+                            dist[n] = UNREACHABLE - 1;
+                            continue;
+                        }
+                        cost[n] = (byte) clampCost(c);
+                    }
+                    dist[n] = nd;
+                    int nb = nd % BUCKETS;
+                    if (sizes[nb] == buckets[nb].length) buckets[nb] = Arrays.copyOf(buckets[nb], sizes[nb] * 2);
+                    buckets[nb][sizes[nb]++] = n;
+                    queued++;
+                }
+            }
+        }
+        for (int i = 0; i < dist.length; i++) {
+            if (dist[i] == UNREACHABLE - 1) dist[i] = UNREACHABLE;
+        }
+        return f;
+    }
+
+    private static int clampCost(int c) {
+        return c == TileGrid.BLOCKED ? 1 : Math.min(c, MAX_STEP_COST);
+    }
+}
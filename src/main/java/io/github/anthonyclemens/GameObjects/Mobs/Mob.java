@@ -1,10 +1,7 @@
 package io.github.anthonyclemens.GameObjects.Mobs;
 
 import java.util.EnumMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 import java.util.Random;
 
 import org.lwjgl.Sys;
@@ -20,10 +17,12 @@ import io.github.anthonyclemens.Rendering.IsoRenderer;
 import io.github.anthonyclemens.SharedData;
 import io.github.anthonyclemens.Sound.SoundBox;
 import io.github.anthonyclemens.WorldGen.Biome;
+import io.github.anthonyclemens.WorldGen.Chunk;
+import io.github.anthonyclemens.WorldGen.MovementClass;
 import io.github.anthonyclemens.WorldGen.World;
 import io.github.anthonyclemens.states.Game;
 
-public class Mob extends GameObject {
+public class Mob extends GameObject implements PathService.Requester {
     // Animation & Visual State
     protected transient Animation currentAnimation;
     protected Map<Direction, SerializableSupplier<Animation>> animationLoaders = new EnumMap<>(Direction.class);
@@ -38,9 +37,14 @@ public class Mob extends GameObject {
     private transient float fy;
 
     // A* Path
-    private Queue<int[]> path = new LinkedList<>(); // absolute tile steps
+    private final TilePath path = new TilePath(); // absolute tile steps
     private long lastPathComputeTime = 0;
     private static final long PATH_REPLAN_MS = 600;
+    // Steps read from the player flow field per replan; more than a mob covers between replans
+    private static final int FLOW_STEPS = 8;
+    // This mob's queued search; answers are collected on the next think
+    private transient PathService.Request pathRequest;
+    private transient boolean requestIsWander;
 
     // Movement & AI
     public enum MobState { IDLE, CHASE, ATTACK }
@@ -60,9 +64,16 @@ public class Mob extends GameObject {
     protected long damageCooldown = 1000;
     protected static final int HURT_FLASH_DURATION_MS = 250;
 
-    // Thinking cadence
-    private long lastThinkTime = 0;
-    private static final long THINK_INTERVAL_MS = 500;
+    // Set while waiting in the think scheduler, so a mob is never queued twice
+    private transient volatile boolean thinkQueued = false;
+    // Set once the mob is taken out of the world; it may still be waiting in the think queue
+    private transient volatile boolean despawned = false;
+
+    // Far wander goal, reached over several planned legs
+    private int wanderGoalX;
+    private int wanderGoalY;
+    private int wanderLegsLeft = 0;
+    private static final int MAX_WANDER_LEGS = 8;
 
     // Perception
     protected final Random rand;
@@ -70,6 +81,8 @@ public class Mob extends GameObject {
     protected float intelligence = 0; // 0..1 probability of reacting
     protected byte lod = 0;
     protected Biome[] biomes;
+    // Which tiles paths may use; see MovementClass
+    protected MovementClass movementClass = MovementClass.LAND;
 
     private Direction lastDirection = null;
 
@@ -111,24 +124,22 @@ public class Mob extends GameObject {
     }
 
     private void followPath(int deltaTime, IsoRenderer r) {
-        if (path == null || path.isEmpty()) return;
-
-        int[] targetAbs = path.peek(); // absolute tile coords
+        if (path.isEmpty()) return;
 
         // Convert mob local (fx, fy, chunkX, chunkY) to absolute
         int tileSize = World.CHUNK_SIZE;
         float absX = this.chunkX * tileSize + fx;
         float absY = this.chunkY * tileSize + fy;
 
-        float dx = targetAbs[0] - absX;
-        float dy = targetAbs[1] - absY;
+        float dx = path.peekX() - absX;
+        float dy = path.peekY() - absY;
         float dist = (float) Math.sqrt(dx * dx + dy * dy);
 
         // Direction from iso space for animation
         updateFacingFromDelta(dx, dy);
 
         if (dist < 0.15f) {
-            path.poll();
+            path.advance();
             return;
         }
 
@@ -152,6 +163,8 @@ public class Mob extends GameObject {
         float newLocalY = absY - newChunkY * tileSize;
 
         if (newChunkX != this.chunkX || newChunkY != this.chunkY) {
+            // Wait at the border until the chunk ahead has been generated
+            if (r.getChunkManager().getChunkIfReady(newChunkX, newChunkY) == null) return;
             int oldChunkX = this.chunkX;
             int oldChunkY = this.chunkY;
             this.chunkX = newChunkX;
@@ -209,12 +222,12 @@ public class Mob extends GameObject {
             }
 
             // Debug: draw current path
-            if (path != null && !path.isEmpty()) {
+            if (!path.isEmpty()) {
                 int lastX = (int) (renderX + currentAnimation.getWidth() * r.getZoom() / 2);
                 int lastY = (int) (renderY + currentAnimation.getHeight() * r.getZoom() / 2);
 
-                for (int[] stepAbs : path) {
-                    int[] bc = r.getChunkManager().getBlockAndChunk(stepAbs[0], stepAbs[1]);
+                for (int step = 0; step < path.size(); step++) {
+                    int[] bc = r.getChunkManager().getBlockAndChunk(path.getX(step), path.getY(step));
                     float stepRenderX = r.calculateIsoX(bc[0], bc[1], bc[2], bc[3]);
                     float stepRenderY = r.calculateIsoY(bc[0], bc[1], bc[2], bc[3]);
 
@@ -275,46 +288,113 @@ public class Mob extends GameObject {
     }
 
 
-    public void think(long currentTime, Player player, World world) {
-        if (currentTime - lastThinkTime < THINK_INTERVAL_MS) return;
-        lastThinkTime = currentTime;
-
+    /**
+     * Decides what to do next. Called by the world's ThinkScheduler about twice a second.
+     */
+    public void think(Player player, World world) {
+        thinkQueued = false;
+        if (despawned) return;
+        collectPathResult();
         updateState(player, world);
     }
 
-    public void wander(World world) {
-        int tries = 20;
-        int chunkSize = World.CHUNK_SIZE;
+    /**
+     * Applies time this mob's chunk spent unsimulated, all at once, when the chunk is simulated again.
+     * A mob that dies here adds its drops to the chunk itself; no update follows in far chunks.
+     * @param chunk      The chunk the mob is in.
+     * @param elapsedMs  World time that went by.
+     * @param daylightMs Part of it the sun was up.
+     */
+    public void catchUp(Chunk chunk, long elapsedMs, long daylightMs) {}
+
+    /**
+     * Drops the mob's pending work after it is removed from its chunk without dying: it no longer
+     * thinks if still queued to, and its queued path search is withdrawn.
+     */
+    public void despawn() {
+        despawned = true;
+        thinkQueued = false;
+        PathService.Request request = pathRequest;
+        if (request != null) request.cancel();
+    }
 
-        while (tries-- > 0) {
-            // Pick a random absolute tile within vision range
-            int mobAbsX = this.chunkX * chunkSize + this.x;
-            int mobAbsY = this.chunkY * chunkSize + this.y;
+    public boolean isThinkQueued() {
+        return thinkQueued;
+    }
 
-            int candidateAbsX = mobAbsX + rand.nextInt(visionDistance * 2 + 1) - visionDistance;
-            int candidateAbsY = mobAbsY + rand.nextInt(visionDistance * 2 + 1) - visionDistance;
+    public void setThinkQueued(boolean queued) {
+        this.thinkQueued = queued;
+    }
 
-            if (Pathfinder.findPath(world, mobAbsX, mobAbsY, candidateAbsX, candidateAbsY).isEmpty()) {
-                continue;
-            }
+    @Override
+    public int getAbsTileX() {
+        return this.chunkX * World.CHUNK_SIZE + this.x;
+    }
 
-            List<int[]> newPath = Pathfinder.findPath(world, mobAbsX, mobAbsY, candidateAbsX, candidateAbsY);
-            if (!newPath.isEmpty()) {
-                path.clear();
-                path = new LinkedList<>(newPath);
-                int[] head = path.peek();
-                if (head != null && head[0] == mobAbsX && head[1] == mobAbsY) {
-                    path.poll();
-                }
-                return;
+    @Override
+    public int getAbsTileY() {
+        return this.chunkY * World.CHUNK_SIZE + this.y;
+    }
+
+    @Override
+    public MovementClass getMovementClass() {
+        return movementClass;
+    }
+
+    public void wander(World world) {
+        // The old path is walked until the queued search is answered
+        if (pathRequest != null && pathRequest.isPending()) return;
+        int mobAbsX = getAbsTileX();
+        int mobAbsY = getAbsTileY();
+
+        // Far goals are planned a leg at a time; carry on toward the current one first
+        if (wanderLegsLeft > 0 && (wanderGoalX != mobAbsX || wanderGoalY != mobAbsY)) {
+            wanderLegsLeft--;
+            requestPath(world, wanderGoalX, wanderGoalY, PathService.PRIORITY_WANDER, true);
+            return;
+        }
+        wanderLegsLeft = 0;
+
+        // Pick a random absolute tile within vision range; if it cannot be reached, another next think
+        int candidateAbsX = mobAbsX + rand.nextInt(visionDistance * 2 + 1) - visionDistance;
+        int candidateAbsY = mobAbsY + rand.nextInt(visionDistance * 2 + 1) - visionDistance;
+        requestPath(world, candidateAbsX, candidateAbsY, PathService.PRIORITY_WANDER, true);
+    }
+
+    private void requestPath(World world, int goalAbsX, int goalAbsY, int priority, boolean wandering) {
+        if (pathRequest == null) pathRequest = new PathService.Request(this);
+        requestIsWander = wandering;
+        world.getPathService().submit(pathRequest, getAbsTileX(), getAbsTileY(), goalAbsX, goalAbsY, priority);
+    }
+
+    // Takes over the answer to the last queued search, if it has come in
+    private void collectPathResult() {
+        PathService.Request request = pathRequest;
+        if (request == null) return;
+        PathService.State answer = request.getState();
+        if (answer != PathService.State.DONE && answer != PathService.State.DROPPED) return;
+        Pathfinder.Result result = request.getResult();
+        // A wander answer that comes in after the mob started chasing is of no use
+        boolean wanted = !requestIsWander || state == MobState.IDLE;
+        if (answer == PathService.State.DONE && result != Pathfinder.Result.NONE && wanted) {
+            path.copyFrom(request.getPath());
+            // The path starts where the mob stood when it asked, which is at most a few tiles back
+            path.advance();
+            if (requestIsWander && result == Pathfinder.Result.PARTIAL && wanderLegsLeft == 0) {
+                wanderGoalX = request.getGoalX();
+                wanderGoalY = request.getGoalY();
+                wanderLegsLeft = MAX_WANDER_LEGS;
             }
+        } else if (requestIsWander) {
+            wanderLegsLeft = 0;
         }
+        request.consume();
     }
 
     private void updateState(Player player, World world) {
         if (this.peaceful) {
             state = MobState.IDLE;
-            if (path == null || path.isEmpty()) {
+            if (path.isEmpty()) {
                 wander(world);
             }
             return;
@@ -333,7 +413,7 @@ public class Mob extends GameObject {
             maybeReplanPathToPlayer(player, world);
         } else {
             state = MobState.IDLE;
-            if (path == null || path.isEmpty()) {
+            if (path.isEmpty()) {
                 wander(world);
             }
         }
@@ -346,21 +426,26 @@ public class Mob extends GameObject {
 
         int tileSize = World.CHUNK_SIZE;
 
-        int mobAbsX = this.chunkX * tileSize + this.x;
-        int mobAbsY = this.chunkY * tileSize + this.y;
+        int mobAbsX = getAbsTileX();
+        int mobAbsY = getAbsTileY();
 
         int[] playerPos = player.getPlayerLocation();
         int playerAbsX = playerPos[2] * tileSize + playerPos[0];
         int playerAbsY = playerPos[3] * tileSize + playerPos[1];
 
-        List<int[]> newPath = Pathfinder.findPath(world, mobAbsX, mobAbsY, playerAbsX, playerAbsY);
-        if (!newPath.isEmpty()) {
-            if (!path.isEmpty()) path.clear();
-            path = new LinkedList<>(newPath);
-            int[] head = path.peek();
-            if (head != null && head[0] == mobAbsX && head[1] == mobAbsY) {
-                path.poll();
-            }
+        // Every chasing land mob shares one flow field; only queue a search of its own when outside or cut off from it
+        if (movementClass == MovementClass.LAND) world.updatePlayerFlowField(playerAbsX, playerAbsY);
+        if (movementClass == MovementClass.LAND && world.getPlayerFlowField().followInto(mobAbsX, mobAbsY, FLOW_STEPS, path)) {
+            skipCurrentTile(mobAbsX, mobAbsY);
+        } else {
+            requestPath(world, playerAbsX, playerAbsY, PathService.PRIORITY_CHASE, false);
+        }
+    }
+
+    // Paths start on the tile the mob already stands on
+    private void skipCurrentTile(int mobAbsX, int mobAbsY) {
+        if (!path.isEmpty() && path.peekX() == mobAbsX && path.peekY() == mobAbsY) {
+            path.advance();
         }
     }
 
@@ -381,6 +466,10 @@ public class Mob extends GameObject {
     public int getVisionRadius() { return this.visionDistance; }
     public float getIntelligence() { return this.intelligence; }
     public boolean isPeaceful() { return this.peaceful; }
+    /**
+     * @return True for mobs spawned as enemies; these count against the hostile caps and despawn when far away.
+     */
+    public boolean isHostile() { return false; }
 
     @Override
     public void onUse(Player player, Items item) {}
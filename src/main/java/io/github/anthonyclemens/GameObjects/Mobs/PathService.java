@@ -0,0 +1,222 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.anthonyclemens.WorldGen.MovementClass;
+import io.github.anthonyclemens.utils.ConcurrentLongMap;
+
+/**
+ * Queue of path searches, worked off once per tick within a time budget instead of inside the
+ * chunk updates. Mobs submit a request and keep walking their old path until it is answered.
+ * Each requester owns one request, so submitting again before it ran just replaces its goal;
+ * identical searches in the same tick are answered once; and a request whose owner has since
+ * walked away from its start tile is dropped rather than answered with a path from the wrong place.
+ */
+public class PathService {
+    public static final long DEFAULT_BUDGET_NS = 1_000_000L;
+    public static final int STALE_DISTANCE = 4;
+    public static final int PRIORITY_WANDER = 0;
+    public static final int PRIORITY_CHASE = 10;
+    private static final Comparator<Request> ORDER =
+        Comparator.comparingInt((Request r) -> -r.priority).thenComparingLong(r -> r.sequence);
+
+    /**
+     * Whatever asks for paths; the service checks where it stands before searching.
+     */
+    public interface Requester {
+        int getAbsTileX();
+        int getAbsTileY();
+
+        default MovementClass getMovementClass() {
+            return MovementClass.LAND;
+        }
+    }
+
+    /**
+     * Plans one path for a movement class into out, as Pathfinder.findPath does.
+     */
+    @FunctionalInterface
+    public interface Planner {
+        Pathfinder.Result plan(MovementClass mc, int startX, int startY, int goalX, int goalY, TilePath out);
+    }
+
+    public enum State { IDLE, QUEUED, DONE, DROPPED }
+
+    /**
+     * A requester's single outstanding search and, once answered, its result.
+     */
+    public static final class Request {
+        private final Requester owner;
+        private final TilePath path = new TilePath();
+        private int startX;
+        private int startY;
+        private int goalX;
+        private int goalY;
+        private int priority;
+        private MovementClass movementClass = MovementClass.LAND;
+        private long sequence;
+        private Pathfinder.Result result = Pathfinder.Result.NONE;
+        private volatile State state = State.IDLE;
+
+        public Request(Requester owner) {
+            this.owner = owner;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public boolean isPending() {
+            return state == State.QUEUED;
+        }
+
+        public int getGoalX() {
+            return goalX;
+        }
+
+        public int getGoalY() {
+            return goalY;
+        }
+
+        /**
+         * @return The answer; only meaningful when the state is DONE.
+         */
+        public Pathfinder.Result getResult() {
+            return result;
+        }
+
+        /**
+         * @return The planned path; only meaningful when the state is DONE and the result is not NONE.
+         */
+        public TilePath getPath() {
+            return path;
+        }
+
+        /**
+         * Marks an answered or dropped request as read, so it can be submitted again.
+         */
+        public synchronized void consume() {
+            if (state == State.DONE || state == State.DROPPED) state = State.IDLE;
+        }
+
+        /**
+         * Withdraws a queued request, e.g. when its owner is despawned. It is skipped when its turn comes.
+         */
+        public synchronized void cancel() {
+            if (state == State.QUEUED) state = State.IDLE;
+        }
+    }
+
+    private final Planner planner;
+    private final ConcurrentLinkedQueue<Request> incoming = new ConcurrentLinkedQueue<>();
+    // Only touched by the thread calling process
+    private final List<Request> backlog = new ArrayList<>();
+    private final ConcurrentLongMap<Request> answeredThisTick = new ConcurrentLongMap<>();
+    private long nextSequence = 0;
+    private final LongAdder planned = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public PathService(Planner planner) {
+        this.planner = planner;
+    }
+
+    /**
+     * Asks for a path. If the request is still queued its start and goal are replaced instead.
+     * @param priority Higher is served first; see the PRIORITY constants.
+     */
+    public void submit(Request request, int startX, int startY, int goalX, int goalY, int priority) {
+        synchronized (request) {
+            request.startX = startX;
+            request.startY = startY;
+            request.goalX = goalX;
+            request.goalY = goalY;
+            request.movementClass = request.owner.getMovementClass();
+            if (request.state == State.QUEUED) {
+                request.priority = Math.max(priority, request.priority);
+                coalesced.increment();
+                return;
+            }
+            request.priority = priority;
+            request.state = State.QUEUED;
+        }
+        incoming.add(request);
+    }
+
+    /**
+     * Answers queued requests, highest priority first, until the budget is spent.
+     * Whatever is left waits for the next call.
+     * @param budgetNanos Time to spend; at least one request is answered if any are queued.
+     * @return Number of requests answered or dropped.
+     */
+    public int process(long budgetNanos) {
+        long start = System.nanoTime();
+        Request request;
+        while ((request = incoming.poll()) != null) {
+            request.sequence = nextSequence++;
+            backlog.add(request);
+        }
+        if (backlog.isEmpty()) return 0;
+        backlog.sort(ORDER);
+        answeredThisTick.clear();
+
+        int handled = 0;
+        while (handled < backlog.size()) {
+            if (handled > 0 && System.nanoTime() - start >= budgetNanos) break;
+            answer(backlog.get(handled++));
+        }
+        backlog.subList(0, handled).clear();
+        return handled;
+    }
+
+    private void answer(Request request) {
+        synchronized (request) {
+            if (request.state != State.QUEUED) return;
+            Requester owner = request.owner;
+            int moved = Math.max(Math.abs(owner.getAbsTileX() - request.startX), Math.abs(owner.getAbsTileY() - request.startY));
+            if (moved > STALE_DISTANCE) {
+                request.state = State.DROPPED;
+                dropped.increment();
+                return;
+            }
+            long key = ConcurrentLongMap.pack(request.startX, request.startY);
+            Request twin = answeredThisTick.get(key);
+            if (twin != null && twin.goalX == request.goalX && twin.goalY == request.goalY
+                && twin.movementClass == request.movementClass) {
+                // Same search as one already run this tick; copy its answer
+                request.path.copyFrom(twin.path);
+                request.result = twin.result;
+                coalesced.increment();
+            } else {
+                request.result = planner.plan(request.movementClass, request.startX, request.startY, request.goalX, request.goalY, request.path);
+                if (request.result == Pathfinder.Result.NONE) request.path.clear();
+                answeredThisTick.put(key, request);
+                planned.increment();
+            }
+            request.state = State.DONE;
+        }
+    }
+
+    /**
+     * @return Requests waiting to be answered.
+     */
+    public int getQueueDepth() {
+        return backlog.size() + incoming.size();
+    }
+
+    public long getPlannedCount() {
+        return planned.sum();
+    }
+
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+}
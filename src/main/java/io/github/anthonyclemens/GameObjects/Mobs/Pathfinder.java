@@ -1,139 +1,514 @@
 package io.github.anthonyclemens.GameObjects.Mobs;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.Comparator;
-import java.util.HashMap;
-import java.util.LinkedList;
-import java.util.List;
-import java.util.Map;
-import java.util.PriorityQueue;
-
-import io.github.anthonyclemens.GameObjects.GameObject;
-import io.github.anthonyclemens.WorldGen.Chunk;
-import io.github.anthonyclemens.WorldGen.World;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 
+import io.github.anthonyclemens.WorldGen.TileGrid;
+
+/**
+ * A* over absolute tile coordinates, 4-connected, with the step costs the grid reports.
+ * Each thread reuses one search context, so a search allocates nothing once warmed up.
+ * Every search is bounded by a node budget and a radius around the start; when either runs
+ * out, or the goal cannot be reached, the path leads to the closest tile found instead.
+ * In jump point mode, straight runs are scanned rather than expanded tile by tile, so only
+ * tiles next to obstacle corners become nodes.
+ */
 public class Pathfinder {
+    // Searches are confined to a square window of tiles centred on the start
+    static final int WINDOW = 128;
+    public static final int MAX_RADIUS = WINDOW / 2 - 1;
+    public static final int DEFAULT_MAX_EXPANDED = 2048;
+    public static final int DEFAULT_MAX_RADIUS = 48;
+    private static final int[] DIR_X = {1, -1, 0, 0};
+    private static final int[] DIR_Y = {0, 0, 1, -1};
+    // In game, searches only run from PathService.process on the update thread. findPath is static
+    // and public, though, and tests and benchmarks call it from their own threads, so each thread
+    // keeps its own context rather than all of them sharing one
+    private static final ThreadLocal<SearchContext> CONTEXT = ThreadLocal.withInitial(SearchContext::new);
+
+    // Totals across all threads, for the debug overlay
+    private static final LongAdder SEARCHES = new LongAdder();
+    private static final LongAdder EXPANDED = new LongAdder();
+    private static final LongAdder PARTIAL = new LongAdder();
+    private static final LongAdder FAILED = new LongAdder();
+
+    public enum Mode {
+        /** Every tile is a node. */
+        ASTAR,
+        /**
+         * Only jump points are nodes; same path lengths as ASTAR with about half the nodes expanded.
+         * Treats every open tile as costing one step, so it suits single-cost layers only.
+         */
+        JUMP_POINT
+    }
+
+    // Jump point scans cost more time than the nodes they save at mob search radii; see PathfinderBenchmark
+    public static final Mode DEFAULT_MODE = Mode.ASTAR;
+
+    public enum Result {
+        /** The path reaches the goal. */
+        FOUND,
+        /** The budget ran out or the goal is unreachable; the path ends at the closest tile found. */
+        PARTIAL,
+        /** No step could be taken toward the goal. */
+        NONE
+    }
 
     private Pathfinder() {}
 
-    static class Node {
-        int x;
-        int y;
-        Node parent;
-        double g;
-        double h;
+    /**
+     * Finds a path within the default budget; see {@link #findPath(TileGrid, int, int, int, int, TilePath, int, int)}.
+     */
+    public static Result findPath(TileGrid grid, int startX, int startY, int goalX, int goalY, TilePath out) {
+        return findPath(grid, startX, startY, goalX, goalY, out, DEFAULT_MAX_EXPANDED, DEFAULT_MAX_RADIUS);
+    }
 
-        Node(int x, int y, Node parent, double g, double h) {
-            this.x = x;
-            this.y = y;
-            this.parent = parent;
-            this.g = g;
-            this.h = h;
-        }
+    /**
+     * Finds a path and writes it, smoothed, into out. The path starts with the start tile.
+     * @param maxExpanded Most nodes to expand before giving up on reaching the goal.
+     * @param maxRadius   Furthest tiles from the start to consider, per axis; capped at MAX_RADIUS.
+     * @return How far the path gets; out is left untouched when NONE.
+     */
+    public static Result findPath(TileGrid grid, int startX, int startY, int goalX, int goalY, TilePath out,
+                                  int maxExpanded, int maxRadius) {
+        return findPath(grid, startX, startY, goalX, goalY, out, maxExpanded, maxRadius, DEFAULT_MODE);
+    }
 
-        double f() {
-            return g + h;
+    /**
+     * As {@link #findPath(TileGrid, int, int, int, int, TilePath, int, int)}, with the given search mode.
+     * In JUMP_POINT mode the node budget counts jump points.
+     */
+    public static Result findPath(TileGrid grid, int startX, int startY, int goalX, int goalY, TilePath out,
+                                  int maxExpanded, int maxRadius, Mode mode) {
+        SearchContext ctx = CONTEXT.get();
+        Result result = mode == Mode.JUMP_POINT
+            ? ctx.searchJump(grid, startX, startY, goalX, goalY, maxExpanded, maxRadius)
+            : ctx.search(grid, startX, startY, goalX, goalY, maxExpanded, maxRadius);
+        SEARCHES.increment();
+        EXPANDED.add(ctx.expanded);
+        if (result == Result.PARTIAL) PARTIAL.increment();
+        if (result == Result.NONE) {
+            FAILED.increment();
+            return result;
         }
+        out.clear();
+        smoothPath(grid, ctx, out);
+        return result;
+    }
+
+    public static long getSearchCount() {
+        return SEARCHES.sum();
+    }
+
+    public static long getExpandedNodeCount() {
+        return EXPANDED.sum();
+    }
+
+    public static long getPartialPathCount() {
+        return PARTIAL.sum();
     }
 
-    public static List<int[]> findPath(World world, int startX, int startY, int goalX, int goalY) {
-        PriorityQueue<Node> open = new PriorityQueue<>(Comparator.comparingDouble(Node::f));
-        Map<String, Node> visited = new HashMap<>();
+    public static long getFailedSearchCount() {
+        return FAILED.sum();
+    }
 
-        Node start = new Node(startX, startY, null, 0, heuristic(startX, startY, goalX, goalY));
-        open.add(start);
+    /**
+     * Reusable A* state over a WINDOW x WINDOW grid of local cells.
+     * A cell's g, f, parent and heap slot only mean something when its stamp equals the
+     * current search generation, so nothing has to be cleared between searches.
+     */
+    static final class SearchContext {
+        private static final int CLOSED = -1;
+        private static final int CELLS = WINDOW * WINDOW;
 
-        while (!open.isEmpty()) {
-            Node current = open.poll();
-            String key = current.x + "," + current.y;
+        private final int[] stamp = new int[CELLS];
+        private final int[] g = new int[CELLS];
+        private final int[] f = new int[CELLS];
+        private final int[] h = new int[CELLS];
+        // Step cost of entering the cell, looked up once when it is first seen
+        private final int[] cost = new int[CELLS];
+        private final int[] parent = new int[CELLS];
+        // Position in the heap, or CLOSED once expanded or found blocked
+        private final int[] heapIndex = new int[CELLS];
+        private final int[] heap = new int[CELLS];
+        // Direction a jump point was reached in, or -1 for the start
+        private final byte[] dir = new byte[CELLS];
+        private int heapSize;
+        private int generation = 0;
+        private int originX;
+        private int originY;
+        private int minLocal;
+        private int maxLocal;
+        // Jump point mode: the goal's column and row, clamped to the search square
+        private int goalLX;
+        private int goalLY;
+        // Jump point mode: closest tile seen, reached from a node, possibly via one corner
+        private int bestTile;
+        private int bestCorner;
+        private int bestFrom;
+        private int bestH;
+        private int bestG;
+        // Raw path of the last successful search in absolute tiles, start first
+        int[] pathX = new int[64];
+        int[] pathY = new int[64];
+        int pathLength;
+        // Nodes expanded by the last search
+        int expanded;
 
-            if (current.x == goalX && current.y == goalY) {
-                return smoothPath(world, reconstruct(current));
+        Result search(TileGrid grid, int startX, int startY, int goalX, int goalY, int maxExpanded, int maxRadius) {
+            begin(startX, startY, maxRadius);
+            int start = (WINDOW / 2) * WINDOW + WINDOW / 2;
+            // The goal may lie outside the window, in which case only a partial path is possible
+            int goal = inWindow(goalX, goalY) ? (goalY - originY) * WINDOW + (goalX - originX) : -1;
+            open(start, 0, -1, goalX, goalY);
+            int best = start;
+            int bestH = h[start];
+
+            while (heapSize > 0 && expanded < maxExpanded) {
+                int current = pop();
+                expanded++;
+                if (current == goal) {
+                    reconstruct(goal);
+                    return Result.FOUND;
+                }
+                if (h[current] < bestH || (h[current] == bestH && g[current] < g[best])) {
+                    best = current;
+                    bestH = h[current];
+                }
+                int cx = current % WINDOW;
+                int cy = current / WINDOW;
+                for (int d = 0; d < DIR_X.length; d++) {
+                    int nx = cx + DIR_X[d];
+                    int ny = cy + DIR_Y[d];
+                    if (nx < minLocal || ny < minLocal || nx > maxLocal || ny > maxLocal) continue;
+                    int n = ny * WINDOW + nx;
+                    if (stamp[n] == generation) {
+                        // Already seen: closed, blocked, or open with a possibly worse g
+                        int slot = heapIndex[n];
+                        if (slot == CLOSED) continue;
+                        int ng = g[current] + cost[n];
+                        if (ng >= g[n]) continue;
+                        f[n] -= g[n] - ng;
+                        g[n] = ng;
+                        parent[n] = current;
+                        siftUp(slot);
+                        continue;
+                    }
+                    // The only grid lookup per tile; blocked tiles and costs come back together
+                    int stepCost = grid.stepCost(originX + nx, originY + ny);
+                    if (stepCost == TileGrid.BLOCKED) {
+                        stamp[n] = generation;
+                        heapIndex[n] = CLOSED;
+                        continue;
+                    }
+                    cost[n] = stepCost;
+                    open(n, g[current] + stepCost, current, goalX, goalY);
+                }
             }
+            if (best == start) return Result.NONE;
+            reconstruct(best);
+            return Result.PARTIAL;
+        }
 
-            visited.put(key, current);
+        /**
+         * Jump point search for 4-connected grids. Paths are kept in a canonical order: vertical
+         * runs may turn sideways anywhere, horizontal runs only turn next to an obstacle corner or
+         * in the goal's column. A horizontal scan stops at such tiles; a vertical scan stops where
+         * a horizontal scan from it would. Nodes are the tiles scans stop at, so open ground costs
+         * a few nodes however large it is.
+         */
+        Result searchJump(TileGrid grid, int startX, int startY, int goalX, int goalY, int maxExpanded, int maxRadius) {
+            begin(startX, startY, maxRadius);
+            int start = (WINDOW / 2) * WINDOW + WINDOW / 2;
+            int goal = inWindow(goalX, goalY) ? (goalY - originY) * WINDOW + (goalX - originX) : -1;
+            goalLX = Math.max(minLocal, Math.min(maxLocal, goalX - originX));
+            goalLY = Math.max(minLocal, Math.min(maxLocal, goalY - originY));
+            int target = goal < 0 ? goalLY * WINDOW + goalLX : -1;
+            open(start, 0, -1, goalX, goalY);
+            dir[start] = -1;
+            bestTile = start;
+            bestCorner = start;
+            bestFrom = start;
+            bestH = h[start];
+            bestG = 0;
 
-            for (int[] dir : new int[][]{{1,0},{-1,0},{0,1},{0,-1}}) {
-                int nx = current.x + dir[0];
-                int ny = current.y + dir[1];
-                String nKey = nx + "," + ny;
+            while (heapSize > 0 && expanded < maxExpanded) {
+                int current = pop();
+                expanded++;
+                if (current == goal) {
+                    reconstructJump(goal, goal, goal);
+                    return Result.FOUND;
+                }
+                if (current == target) {
+                    // Nothing in the square gets closer to a goal outside it
+                    reconstructJump(target, target, target);
+                    return Result.PARTIAL;
+                }
+                int cx = current % WINDOW;
+                int cy = current / WINDOW;
+                int from = dir[current];
+                for (int d = 0; d < DIR_X.length; d++) {
+                    if (!isNaturalOrForced(grid, cx, cy, from, d)) continue;
+                    int n = DIR_Y[d] == 0
+                        ? jumpHorizontal(grid, current, cx, cy, DIR_X[d], current, goal, goalX, goalY)
+                        : jumpVertical(grid, current, cx, cy, DIR_Y[d], goal, goalX, goalY);
+                    if (n < 0) continue;
+                    int ng = g[current] + Math.abs(n % WINDOW - cx) + Math.abs(n / WINDOW - cy);
+                    if (stamp[n] == generation) {
+                        int slot = heapIndex[n];
+                        if (slot == CLOSED || ng >= g[n]) continue;
+                        f[n] -= g[n] - ng;
+                        g[n] = ng;
+                        parent[n] = current;
+                        dir[n] = (byte) d;
+                        siftUp(slot);
+                        continue;
+                    }
+                    open(n, ng, current, goalX, goalY);
+                    dir[n] = (byte) d;
+                }
+            }
+            if (bestTile == start) return Result.NONE;
+            reconstructJump(bestFrom, bestCorner, bestTile);
+            return Result.PARTIAL;
+        }
 
-                if (visited.containsKey(nKey)) continue;
-                if (!isWalkable(world, nx, ny)) continue;
+        // Which directions a node reached in direction `from` has to be expanded in
+        private boolean isNaturalOrForced(TileGrid grid, int x, int y, int from, int d) {
+            if (from < 0) return true;
+            // Never straight back
+            if (DIR_X[d] == -DIR_X[from] && DIR_Y[d] == -DIR_Y[from]) return false;
+            if (DIR_X[from] == 0 || d == from) return true;
+            // Turning off a horizontal run: only in the goal column or round a corner just passed
+            if (x == goalLX) return true;
+            int dy = DIR_Y[d];
+            return !walkable(grid, x - DIR_X[from], y + dy);
+        }
 
-                double g = current.g + 1;
-                double h = heuristic(nx, ny, goalX, goalY);
-                Node neighbor = new Node(nx, ny, current, g, h);
+        private int jumpHorizontal(TileGrid grid, int node, int x, int y, int dx, int corner, int goal, int goalX, int goalY) {
+            int g0 = g[node] + Math.abs(corner % WINDOW - node % WINDOW) + Math.abs(corner / WINDOW - node / WINDOW);
+            int steps = 0;
+            // Each tile's neighbours above and below are the previous ones for the next tile
+            boolean upOpen = walkable(grid, x, y - 1);
+            boolean downOpen = walkable(grid, x, y + 1);
+            while (true) {
+                x += dx;
+                steps++;
+                if (!walkable(grid, x, y)) return -1;
+                int cell = y * WINDOW + x;
+                consider(cell, corner, node, g0 + steps, goalX, goalY);
+                if (cell == goal || x == goalLX) return cell;
+                boolean wasUpOpen = upOpen;
+                boolean wasDownOpen = downOpen;
+                upOpen = walkable(grid, x, y - 1);
+                downOpen = walkable(grid, x, y + 1);
+                if ((upOpen && !wasUpOpen) || (downOpen && !wasDownOpen)) return cell;
+            }
+        }
 
-                open.add(neighbor);
+        private int jumpVertical(TileGrid grid, int node, int x, int y, int dy, int goal, int goalX, int goalY) {
+            while (true) {
+                y += dy;
+                if (!walkable(grid, x, y)) return -1;
+                int cell = y * WINDOW + x;
+                consider(cell, cell, node, g[node] + Math.abs(cell / WINDOW - node / WINDOW), goalX, goalY);
+                if (cell == goal || y == goalLY) return cell;
+                // Vertical runs may turn anywhere, so stop wherever a sideways scan finds something
+                if (jumpHorizontal(grid, node, x, y, 1, cell, goal, goalX, goalY) >= 0
+                    || jumpHorizontal(grid, node, x, y, -1, cell, goal, goalX, goalY) >= 0) {
+                    return cell;
+                }
             }
         }
-        return Collections.emptyList();
-    }
 
-    private static double heuristic(int x1, int y1, int x2, int y2) {
-        return Math.abs(x1 - x2) + Math.abs(y1 - y2);
-    }
+        private boolean walkable(TileGrid grid, int lx, int ly) {
+            if (lx < minLocal || ly < minLocal || lx > maxLocal || ly > maxLocal) return false;
+            return !grid.isBlocked(originX + lx, originY + ly);
+        }
 
-    private static List<int[]> reconstruct(Node node) {
-        LinkedList<int[]> path = new LinkedList<>();
-        while (node != null) {
-            path.addFirst(new int[]{node.x, node.y});
-            node = node.parent;
+        // Tracks the closest tile scanned, for a partial path when the goal is not reached
+        private void consider(int tile, int corner, int from, int gScore, int goalX, int goalY) {
+            int dist = Math.abs(originX + tile % WINDOW - goalX) + Math.abs(originY + tile / WINDOW - goalY);
+            if (dist < bestH || (dist == bestH && gScore < bestG)) {
+                bestTile = tile;
+                bestCorner = corner;
+                bestFrom = from;
+                bestH = dist;
+                bestG = gScore;
+            }
         }
-        return path;
-    }
 
-    private static boolean isWalkable(World world, int absX, int absY) {
-        int[] bc = world.getBlockAndChunk(absX, absY);
-        Chunk chunk = world.getChunk(bc[2], bc[3]);
-        for (GameObject obj : chunk.getGameObjects()) {
-            if (obj.getX() == bc[0] && obj.getY() == bc[1] && obj.isSolid()) {
-                return false;
+        private void begin(int startX, int startY, int maxRadius) {
+            int radius = Math.max(1, Math.min(maxRadius, MAX_RADIUS));
+            originX = startX - WINDOW / 2;
+            originY = startY - WINDOW / 2;
+            minLocal = WINDOW / 2 - radius;
+            maxLocal = WINDOW / 2 + radius;
+            if (++generation == 0) {
+                Arrays.fill(stamp, 0);
+                generation = 1;
             }
+            heapSize = 0;
+            expanded = 0;
+        }
+
+        private boolean inWindow(int absX, int absY) {
+            int lx = absX - originX;
+            int ly = absY - originY;
+            return lx >= 0 && ly >= 0 && lx < WINDOW && ly < WINDOW;
+        }
+
+        private void open(int cell, int gScore, int from, int goalX, int goalY) {
+            int dist = Math.abs(originX + cell % WINDOW - goalX) + Math.abs(originY + cell / WINDOW - goalY);
+            stamp[cell] = generation;
+            g[cell] = gScore;
+            h[cell] = dist;
+            f[cell] = gScore + dist;
+            parent[cell] = from;
+            heap[heapSize] = cell;
+            heapIndex[cell] = heapSize;
+            siftUp(heapSize++);
+        }
+
+        private int pop() {
+            int top = heap[0];
+            heapIndex[top] = CLOSED;
+            int last = heap[--heapSize];
+            if (heapSize > 0) {
+                heap[0] = last;
+                heapIndex[last] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        // Lower f first; on ties prefer the deeper node, which reaches the goal with fewer expansions
+        private boolean before(int a, int b) {
+            return f[a] < f[b] || (f[a] == f[b] && g[a] > g[b]);
+        }
+
+        private void siftUp(int i) {
+            int cell = heap[i];
+            while (i > 0) {
+                int up = (i - 1) >>> 1;
+                int other = heap[up];
+                if (!before(cell, other)) break;
+                heap[i] = other;
+                heapIndex[other] = i;
+                i = up;
+            }
+            heap[i] = cell;
+            heapIndex[cell] = i;
+        }
+
+        private void siftDown(int i) {
+            int cell = heap[i];
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= heapSize) break;
+                if (child + 1 < heapSize && before(heap[child + 1], heap[child])) child++;
+                int other = heap[child];
+                if (!before(other, cell)) break;
+                heap[i] = other;
+                heapIndex[other] = i;
+                i = child;
+            }
+            heap[i] = cell;
+            heapIndex[cell] = i;
+        }
+
+        private void reconstruct(int end) {
+            // With step costs g is no longer the step count, so count the steps
+            int length = 1;
+            for (int cell = end; parent[cell] >= 0; cell = parent[cell]) length++;
+            if (pathX.length < length) {
+                pathX = new int[Math.max(length, pathX.length * 2)];
+                pathY = new int[pathX.length];
+            }
+            int cell = end;
+            for (int i = length - 1; i >= 0; i--) {
+                pathX[i] = originX + cell % WINDOW;
+                pathY[i] = originY + cell / WINDOW;
+                cell = parent[cell];
+            }
+            pathLength = length;
+        }
+
+        // Expands the straight segments between jump points back into single steps
+        private void reconstructJump(int node, int corner, int tile) {
+            int length = g[node] + manhattan(node, corner) + manhattan(corner, tile) + 1;
+            if (pathX.length < length) {
+                pathX = new int[Math.max(length, pathX.length * 2)];
+                pathY = new int[pathX.length];
+            }
+            int i = length - 1;
+            i = writeSegment(tile, corner, i);
+            i = writeSegment(corner, node, i);
+            for (int cell = node; parent[cell] >= 0; cell = parent[cell]) {
+                i = writeSegment(cell, parent[cell], i);
+            }
+            pathX[0] = originX + WINDOW / 2;
+            pathY[0] = originY + WINDOW / 2;
+            pathLength = length;
+        }
+
+        // Writes the tiles from `from` back toward `to`, leaving `to` out, ending at index i
+        private int writeSegment(int from, int to, int i) {
+            int x = from % WINDOW;
+            int y = from / WINDOW;
+            int tx = to % WINDOW;
+            int ty = to / WINDOW;
+            int sx = Integer.signum(tx - x);
+            int sy = Integer.signum(ty - y);
+            while (x != tx || y != ty) {
+                pathX[i] = originX + x;
+                pathY[i] = originY + y;
+                i--;
+                if (x != tx) x += sx;
+                else y += sy;
+            }
+            return i;
+        }
+
+        private static int manhattan(int a, int b) {
+            return Math.abs(a % WINDOW - b % WINDOW) + Math.abs(a / WINDOW - b / WINDOW);
         }
-        return true;
     }
 
     // --- Path smoothing ---
-    private static List<int[]> smoothPath(World world, List<int[]> rawPath) {
-        if (rawPath.size() <= 2) return rawPath;
-
-        List<int[]> smooth = new ArrayList<>();
-        int[] last = rawPath.get(0);
-        smooth.add(last);
+    private static void smoothPath(TileGrid grid, SearchContext ctx, TilePath out) {
+        int[] xs = ctx.pathX;
+        int[] ys = ctx.pathY;
+        int length = ctx.pathLength;
+        out.add(xs[0], ys[0]);
 
         int i = 0;
-        while (i < rawPath.size() - 1) {
-            int j = rawPath.size() - 1;
+        while (i < length - 1) {
+            int j = length - 1;
             for (; j > i + 1; j--) {
-                if (hasLineOfSight(world, rawPath.get(i), rawPath.get(j))) {
+                if (hasLineOfSight(grid, xs[i], ys[i], xs[j], ys[j])) {
                     break;
                 }
             }
-            smooth.add(rawPath.get(j));
+            out.add(xs[j], ys[j]);
             i = j;
         }
-        return smooth;
     }
 
-    private static boolean hasLineOfSight(World world, int[] a, int[] b) {
-        // Bresenham’s line algorithm
-        int x0 = a[0], y0 = a[1];
-        int x1 = b[0], y1 = b[1];
+    private static boolean hasLineOfSight(TileGrid grid, int x0, int y0, int x1, int y1) {
+        // Bresenham’s line algorithm. The first tile is already on the path, and may hold the mob itself
         int dx = Math.abs(x1 - x0);
         int dy = Math.abs(y1 - y0);
         int sx = x0 < x1 ? 1 : -1;
         int sy = y0 < y1 ? 1 : -1;
         int err = dx - dy;
 
-        while (true) {
-            if (!isWalkable(world, x0, y0)) return false;
-            if (x0 == x1 && y0 == y1) break;
+        while (x0 != x1 || y0 != y1) {
             int e2 = 2 * err;
             if (e2 > -dy) { err -= dy; x0 += sx; }
             if (e2 < dx) { err += dx; y0 += sy; }
+            // Shortcuts only cross plain ground, so they never cut through costlier tiles
+            if (grid.stepCost(x0, y0) != 1) return false;
         }
         return true;
     }
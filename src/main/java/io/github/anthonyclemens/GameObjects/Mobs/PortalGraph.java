@@ -0,0 +1,430 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import io.github.anthonyclemens.WorldGen.TileGrid;
+import io.github.anthonyclemens.utils.ConcurrentLongMap;
+
+/**
+ * Hierarchical path planning over chunk border portals, in the style of HPA*.
+ * Each loaded chunk gets a handful of portal tiles where it can be crossed into a neighbour,
+ * and the walking cost between every pair of its own portals, weighed by step cost. Long queries search this small
+ * graph first, then run the tile-level Pathfinder only up to a waypoint a chunk or two ahead,
+ * so the cost of a plan no longer grows with the distance to its goal.
+ * Portals are built from the static walkability (mobs ignored) and rebuilt when the versions of
+ * the chunk or one of its neighbours change.
+ */
+public class PortalGraph {
+    /** Returned by a ChunkVersions for chunks that are not loaded. */
+    public static final long UNLOADED = Long.MIN_VALUE;
+    // Entrances longer than this get a portal at each end instead of one in the middle
+    private static final int LONG_ENTRANCE = 6;
+    private static final int MAX_PORTALS = 64;
+    private static final int MAX_EXPANDED = 4096;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    // Step costs are clamped as in FlowField; one bucket per cost, plus the current one
+    private static final int MAX_STEP_COST = FlowField.MAX_STEP_COST;
+    private static final int BUCKETS = MAX_STEP_COST + 1;
+    // Sides in the order north, south, west, east
+    private static final int[] DIR_X = {0, 0, -1, 1};
+    private static final int[] DIR_Y = {-1, 1, 0, 0};
+    private static final int[] OPPOSITE = {1, 0, 3, 2};
+
+    /**
+     * Tells the graph which chunks are loaded and when their walkability changed.
+     */
+    @FunctionalInterface
+    public interface ChunkVersions {
+        /**
+         * @return A value that changes whenever the chunk's static walkability changes, or UNLOADED.
+         */
+        long versionOf(int chunkX, int chunkY);
+    }
+
+    /**
+     * Portals of one chunk and the costs between them, valid for the versions they were built from.
+     */
+    static final class ChunkPortals {
+        final int chunkX;
+        final int chunkY;
+        // The chunk's own version, then its neighbours' in side order
+        final long[] versions;
+        final int count;
+        final int[] xs;
+        final int[] ys;
+        final int[] sides;
+        // Row-major count x count walking costs between portals inside the chunk, or UNREACHABLE
+        final int[] cost;
+
+        ChunkPortals(int chunkX, int chunkY, long[] versions, int count, int[] xs, int[] ys, int[] sides, int[] cost) {
+            this.chunkX = chunkX;
+            this.chunkY = chunkY;
+            this.versions = versions;
+            this.count = count;
+            this.xs = xs;
+            this.ys = ys;
+            this.sides = sides;
+            this.cost = cost;
+        }
+
+        int indexOf(int absX, int absY, int side) {
+            for (int i = 0; i < count; i++) {
+                if (xs[i] == absX && ys[i] == absY && sides[i] == side) return i;
+            }
+            return -1;
+        }
+    }
+
+    private static final class Node {
+        final ChunkPortals owner;
+        final int index;
+        final int x;
+        final int y;
+        int g = UNREACHABLE;
+        int f;
+        Node parent;
+        boolean closed;
+
+        Node(ChunkPortals owner, int index, int x, int y) {
+            this.owner = owner;
+            this.index = index;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    // A node's place in the queue at one g; entries left behind by a later improvement are skipped
+    private static final class Entry {
+        final Node node;
+        final int f;
+        final int g;
+
+        Entry(Node node, int f, int g) {
+            this.node = node;
+            this.f = f;
+            this.g = g;
+        }
+    }
+
+    private final TileGrid grid;
+    private final ChunkVersions versions;
+    private final int chunkSize;
+    private final ConcurrentLongMap<ChunkPortals> portals = new ConcurrentLongMap<>();
+    private final LongAdder rebuilds = new LongAdder();
+    private final LongAdder routes = new LongAdder();
+
+    /**
+     * @param grid      Static walkability in absolute tiles.
+     * @param versions  Load state and walkability versions of chunks.
+     * @param chunkSize Chunk width and height in tiles.
+     */
+    public PortalGraph(TileGrid grid, ChunkVersions versions, int chunkSize) {
+        this.grid = grid;
+        this.versions = versions;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Plans a path, going through the portal graph when the goal is further than a plain search reaches.
+     * The tile path written into out then only covers the first chunk or two of the route.
+     * @param walkable Full walkability, mobs included, used for the tile-level part.
+     * @return FOUND if out reaches the goal, PARTIAL if it leads part of the way, NONE if out is untouched.
+     */
+    public Pathfinder.Result findPath(TileGrid walkable, int startX, int startY, int goalX, int goalY, TilePath out) {
+        int reach = Math.min(Pathfinder.DEFAULT_MAX_RADIUS, Pathfinder.MAX_RADIUS);
+        if (Math.max(Math.abs(goalX - startX), Math.abs(goalY - startY)) <= reach) {
+            return Pathfinder.findPath(walkable, startX, startY, goalX, goalY, out);
+        }
+        TilePath route = new TilePath();
+        if (!findRoute(startX, startY, goalX, goalY, route)) {
+            return Pathfinder.findPath(walkable, startX, startY, goalX, goalY, out);
+        }
+        // Furthest waypoint a single bounded search can still reach
+        int refineRadius = Math.min(chunkSize * 2, Pathfinder.MAX_RADIUS);
+        int wx = route.getX(0);
+        int wy = route.getY(0);
+        for (int i = 1; i < route.size(); i++) {
+            int x = route.getX(i);
+            int y = route.getY(i);
+            if (Math.max(Math.abs(x - startX), Math.abs(y - startY)) > refineRadius) break;
+            wx = x;
+            wy = y;
+        }
+        Pathfinder.Result result = Pathfinder.findPath(walkable, startX, startY, wx, wy, out,
+            Pathfinder.DEFAULT_MAX_EXPANDED, Pathfinder.MAX_RADIUS);
+        if (result == Pathfinder.Result.FOUND && (wx != goalX || wy != goalY)) return Pathfinder.Result.PARTIAL;
+        return result;
+    }
+
+    /**
+     * Searches the portal graph between two tiles in different chunks.
+     * @param route Receives the portal tiles to pass through, then the goal; the start is left out.
+     * @return False if both tiles share a chunk or no route through loaded chunks was found.
+     */
+    public boolean findRoute(int startX, int startY, int goalX, int goalY, TilePath route) {
+        int scx = Math.floorDiv(startX, chunkSize);
+        int scy = Math.floorDiv(startY, chunkSize);
+        int gcx = Math.floorDiv(goalX, chunkSize);
+        int gcy = Math.floorDiv(goalY, chunkSize);
+        if (scx == gcx && scy == gcy) return false;
+        ChunkPortals startChunk = getPortals(scx, scy);
+        ChunkPortals goalChunk = getPortals(gcx, gcy);
+        if (startChunk == null || goalChunk == null || startChunk.count == 0 || goalChunk.count == 0) return false;
+        routes.increment();
+
+        int[] fromStart = distancesInChunk(startChunk, startX, startY);
+        int[] toGoal = distancesInChunk(goalChunk, goalX, goalY);
+        Map<ChunkPortals, Node[]> nodes = new IdentityHashMap<>();
+        PriorityQueue<Entry> open = new PriorityQueue<>((a, b) -> a.f != b.f ? Integer.compare(a.f, b.f) : Integer.compare(b.g, a.g));
+        for (int i = 0; i < startChunk.count; i++) {
+            if (fromStart[i] != UNREACHABLE) relax(nodes, open, null, startChunk, i, fromStart[i], goalX, goalY);
+        }
+
+        Node best = null;
+        int bestCost = UNREACHABLE;
+        int expanded = 0;
+        while (!open.isEmpty() && expanded < MAX_EXPANDED) {
+            Entry entry = open.poll();
+            Node current = entry.node;
+            if (current.closed || entry.g != current.g) continue;
+            current.closed = true;
+            expanded++;
+            if (current.f >= bestCost) break;
+            ChunkPortals owner = current.owner;
+            if (owner == goalChunk && toGoal[current.index] != UNREACHABLE) {
+                int total = current.g + toGoal[current.index];
+                if (total < bestCost) {
+                    bestCost = total;
+                    best = current;
+                }
+            }
+            // Other portals of the same chunk
+            for (int j = 0; j < owner.count; j++) {
+                int c = owner.cost[current.index * owner.count + j];
+                if (j != current.index && c != UNREACHABLE) relax(nodes, open, current, owner, j, current.g + c, goalX, goalY);
+            }
+            // Across the border, into the matching portal of the neighbour
+            int side = owner.sides[current.index];
+            ChunkPortals next = getPortals(owner.chunkX + DIR_X[side], owner.chunkY + DIR_Y[side]);
+            if (next == null) continue;
+            int twin = next.indexOf(current.x + DIR_X[side], current.y + DIR_Y[side], OPPOSITE[side]);
+            if (twin >= 0) {
+                int crossing = crossingCost(next.xs[twin], next.ys[twin]);
+                relax(nodes, open, current, next, twin, current.g + crossing, goalX, goalY);
+            }
+        }
+        if (best == null) return false;
+
+        int length = 0;
+        for (Node n = best; n != null; n = n.parent) length++;
+        int[] xs = new int[length];
+        int[] ys = new int[length];
+        int i = length;
+        for (Node n = best; n != null; n = n.parent) {
+            xs[--i] = n.x;
+            ys[i] = n.y;
+        }
+        route.clear();
+        for (i = 0; i < length; i++) route.add(xs[i], ys[i]);
+        route.add(goalX, goalY);
+        return true;
+    }
+
+    /**
+     * @return How many times portals of some chunk have been built.
+     */
+    public long getRebuildCount() {
+        return rebuilds.sum();
+    }
+
+    /**
+     * @return How many searches have run on the portal graph.
+     */
+    public long getRouteCount() {
+        return routes.sum();
+    }
+
+    /**
+     * Drops a chunk's portals once the world has unloaded it, so the graph only holds loaded chunks.
+     * Neighbours rebuild theirs on their next query, as their versions no longer match.
+     */
+    public void forget(int chunkX, int chunkY) {
+        portals.remove(ConcurrentLongMap.pack(chunkX, chunkY));
+    }
+
+    /**
+     * @return Chunks whose portals are currently held.
+     */
+    public int getCachedChunkCount() {
+        return portals.size();
+    }
+
+    /**
+     * @return The chunk's portals, rebuilt if it or a neighbour changed, or null if it is not loaded.
+     */
+    ChunkPortals getPortals(int chunkX, int chunkY) {
+        long self = versions.versionOf(chunkX, chunkY);
+        long key = ConcurrentLongMap.pack(chunkX, chunkY);
+        if (self == UNLOADED) {
+            portals.remove(key);
+            return null;
+        }
+        long[] current = new long[5];
+        current[0] = self;
+        for (int side = 0; side < 4; side++) {
+            current[side + 1] = versions.versionOf(chunkX + DIR_X[side], chunkY + DIR_Y[side]);
+        }
+        ChunkPortals cached = portals.get(key);
+        if (cached != null && Arrays.equals(cached.versions, current)) return cached;
+        // Builds racing on two threads produce the same data, so the last one may win
+        ChunkPortals built = build(chunkX, chunkY, current);
+        portals.put(key, built);
+        rebuilds.increment();
+        return built;
+    }
+
+    private ChunkPortals build(int chunkX, int chunkY, long[] current) {
+        int[] xs = new int[MAX_PORTALS];
+        int[] ys = new int[MAX_PORTALS];
+        int[] sides = new int[MAX_PORTALS];
+        int count = 0;
+        int baseX = chunkX * chunkSize;
+        int baseY = chunkY * chunkSize;
+        for (int side = 0; side < 4; side++) {
+            if (current[side + 1] == UNLOADED) continue;
+            int runStart = -1;
+            // One past the end, so a run touching the corner is closed too
+            for (int i = 0; i <= chunkSize; i++) {
+                boolean open = i < chunkSize && isOpenCrossing(baseX, baseY, side, i);
+                if (open && runStart < 0) runStart = i;
+                if (open || runStart < 0) continue;
+                int runEnd = i - 1;
+                // Both chunks sharing the border find the same runs, so their portals pair up
+                if (runEnd - runStart + 1 > LONG_ENTRANCE) {
+                    count = addPortal(xs, ys, sides, count, baseX, baseY, side, runStart);
+                    count = addPortal(xs, ys, sides, count, baseX, baseY, side, runEnd);
+                } else {
+                    count = addPortal(xs, ys, sides, count, baseX, baseY, side, (runStart + runEnd) / 2);
+                }
+                runStart = -1;
+            }
+        }
+
+        int[] cost = new int[count * count];
+        ChunkPortals result = new ChunkPortals(chunkX, chunkY, current, count,
+            Arrays.copyOf(xs, count), Arrays.copyOf(ys, count), Arrays.copyOf(sides, count), cost);
+        for (int p = 0; p < count; p++) {
+            int[] dist = distancesInChunk(result, result.xs[p], result.ys[p]);
+            System.arraycopy(dist, 0, cost, p * count, count);
+        }
+        return result;
+    }
+
+    private int addPortal(int[] xs, int[] ys, int[] sides, int count, int baseX, int baseY, int side, int i) {
+        if (count == MAX_PORTALS) return count;
+        xs[count] = baseX + borderX(side, i);
+        ys[count] = baseY + borderY(side, i);
+        sides[count] = side;
+        return count + 1;
+    }
+
+    private boolean isOpenCrossing(int baseX, int baseY, int side, int i) {
+        int x = baseX + borderX(side, i);
+        int y = baseY + borderY(side, i);
+        return !grid.isBlocked(x, y) && !grid.isBlocked(x + DIR_X[side], y + DIR_Y[side]);
+    }
+
+    // Local coordinates of the i-th tile along a side
+    private int borderX(int side, int i) {
+        if (side == 2) return 0;
+        if (side == 3) return chunkSize - 1;
+        return i;
+    }
+
+    private int borderY(int side, int i) {
+        if (side == 0) return 0;
+        if (side == 1) return chunkSize - 1;
+        return i;
+    }
+
+    /**
+     * Cheapest walk from a tile to each of the chunk's portals, staying inside the chunk. Entering a
+     * tile costs its step cost, as in FlowField, so the search runs on the same kind of bucket queue.
+     * @return Cost to each of the chunk's portals, or UNREACHABLE.
+     */
+    private int[] distancesInChunk(ChunkPortals chunk, int absX, int absY) {
+        int baseX = chunk.chunkX * chunkSize;
+        int baseY = chunk.chunkY * chunkSize;
+        int[] dist = new int[chunkSize * chunkSize];
+        Arrays.fill(dist, UNREACHABLE);
+        // Bucket d % BUCKETS holds tiles at cost d; a tile settled at d only adds to d + 1..d + MAX_STEP_COST
+        int[][] buckets = new int[BUCKETS][16];
+        int[] sizes = new int[BUCKETS];
+        int queued = 0;
+        // The start counts even if something stands on it, as the mob itself may
+        int start = (absY - baseY) * chunkSize + (absX - baseX);
+        dist[start] = 0;
+        buckets[0][sizes[0]++] = start;
+        queued++;
+        for (int d = 0; queued > 0; d++) {
+            int b = d % BUCKETS;
+            int[] bucket = buckets[b];
+            int count = sizes[b];
+            sizes[b] = 0;
+            queued -= count;
+            for (int i = 0; i < count; i++) {
+                int cell = bucket[i];
+                // Left behind when the tile was later reached more cheaply
+                if (dist[cell] != d) continue;
+                int cx = cell % chunkSize;
+                int cy = cell / chunkSize;
+                for (int dir = 0; dir < DIR_X.length; dir++) {
+                    int nx = cx + DIR_X[dir];
+                    int ny = cy + DIR_Y[dir];
+                    if (nx < 0 || ny < 0 || nx >= chunkSize || ny >= chunkSize) continue;
+                    int n = ny * chunkSize + nx;
+                    if (dist[n] <= d + 1) continue;
+                    int c = grid.stepCost(baseX + nx, baseY + ny);
+                    if (c == TileGrid.BLOCKED) continue;
+                    int nd = d + Math.min(c, MAX_STEP_COST);
+                    if (nd >= dist[n]) continue;
+                    dist[n] = nd;
+                    int nb = nd % BUCKETS;
+                    if (sizes[nb] == buckets[nb].length) buckets[nb] = Arrays.copyOf(buckets[nb], sizes[nb] * 2);
+                    buckets[nb][sizes[nb]++] = n;
+                    queued++;
+                }
+            }
+        }
+        int[] result = new int[chunk.count];
+        for (int p = 0; p < chunk.count; p++) {
+            result[p] = dist[(chunk.ys[p] - baseY) * chunkSize + (chunk.xs[p] - baseX)];
+        }
+        return result;
+    }
+
+    // Stepping across a border costs the tile stepped onto, as any other step does
+    private int crossingCost(int absX, int absY) {
+        int c = grid.stepCost(absX, absY);
+        return c == TileGrid.BLOCKED ? 1 : Math.min(c, MAX_STEP_COST);
+    }
+
+    private static void relax(Map<ChunkPortals, Node[]> nodes, PriorityQueue<Entry> open, Node from,
+                              ChunkPortals owner, int index, int g, int goalX, int goalY) {
+        Node[] row = nodes.computeIfAbsent(owner, o -> new Node[o.count]);
+        Node node = row[index];
+        if (node == null) {
+            node = new Node(owner, index, owner.xs[index], owner.ys[index]);
+            row[index] = node;
+        }
+        if (node.closed || g >= node.g) return;
+        node.g = g;
+        node.f = g + Math.abs(node.x - goalX) + Math.abs(node.y - goalY);
+        node.parent = from;
+        open.add(new Entry(node, node.f, g));
+    }
+}
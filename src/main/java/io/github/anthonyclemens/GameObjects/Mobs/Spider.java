@@ -38,14 +38,19 @@ public class Spider extends Mob{
     public void update(IsoRenderer r, int deltaTime){
         if(this.dropItem){
             int[] currentLoc = r.screenToIsometric(renderX, renderY);
-            Chunk thisChunk = r.getChunkManager().getChunk(chunkX, chunkY);
+            Chunk thisChunk = r.getChunkManager().peekChunk(chunkX, chunkY);
             this.droppedItem.setLocation(currentLoc[0],currentLoc[1],currentLoc[2],currentLoc[3]);
-            thisChunk.addGameObject(this.droppedItem);
+            if (thisChunk != null) thisChunk.addGameObject(this.droppedItem);
         }
         super.update(r,deltaTime);
         this.peaceful = r.isSunUp();
     }
 
+    @Override
+    public boolean isHostile(){
+        return true;
+    }
+
     @Override
     public void removeHealth(int amount){
         super.removeHealth(amount);
@@ -0,0 +1,142 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Spreads mob thinking evenly over time. Mobs are bucketed into SLOTS think slots by entity ID,
+ * and the slots come up one after another at a fixed real-time rate, so each mob thinks once every
+ * THINK_INTERVAL_MS whatever the frame rate, and a wave spawned together still thinks on
+ * different frames. Each frame only the mobs whose slot came up are offered. Offered mobs think
+ * once the chunk updates are done, within a per-frame time budget; those that do not fit are
+ * carried over and go first next frame.
+ * @param <T> What thinks; Mob in the game.
+ */
+public class ThinkScheduler<T> {
+    // A power of two; a slot comes up every THINK_INTERVAL_MS / SLOTS ms
+    public static final int SLOTS = 32;
+    public static final int THINK_INTERVAL_MS = 500;
+    public static final long DEFAULT_BUDGET_NS = 2_000_000L;
+    // Frames of slot history kept for chunks updated only every few frames; a power of two
+    private static final int HISTORY = 64;
+
+    private final int intervalMs;
+    private final ConcurrentLinkedQueue<T> offered = new ConcurrentLinkedQueue<>();
+    // Only touched by the thread calling run
+    private final ArrayDeque<T> deferred = new ArrayDeque<>();
+    // Slots that have come up so far; slot s belongs to the IDs equal to s modulo SLOTS
+    private volatile long slot = 0;
+    // Slot count at the start of each recent frame, indexed by frame modulo HISTORY
+    private final long[] slotAtFrameStart = new long[HISTORY];
+    private volatile long frame = 0;
+    // Elapsed time times SLOTS not yet turned into a slot, in ms
+    private long carry = 0;
+    private volatile int thinksLastFrame = 0;
+    private volatile long deferredTotal = 0;
+
+    public ThinkScheduler() {
+        this(THINK_INTERVAL_MS);
+    }
+
+    /**
+     * @param intervalMs Time in which every slot comes up once.
+     */
+    public ThinkScheduler(int intervalMs) {
+        this.intervalMs = Math.max(1, intervalMs);
+    }
+
+    /**
+     * Starts a frame: brings up the slots whose time came during deltaMs. Call before the chunk
+     * updates offer mobs, from the thread calling run.
+     */
+    public void advance(int deltaMs) {
+        long next = frame + 1;
+        slotAtFrameStart[(int) (next & (HISTORY - 1))] = slot;
+        carry += (long) Math.max(0, deltaMs) * SLOTS;
+        long passed = carry / intervalMs;
+        carry -= passed * intervalMs;
+        slot += passed;
+        frame = next;
+    }
+
+    /**
+     * @return True if the slot of a mob with this entity ID came up this frame.
+     */
+    public boolean isDue(long id) {
+        return isDue(id, 1);
+    }
+
+    // True if the ID's slot came up in any of the last frames frames, this one included
+    private boolean isDue(long id, int frames) {
+        long current = slot;
+        long from;
+        if (frames >= HISTORY) from = current - SLOTS;
+        else if (frames > frame) from = 0;
+        else from = slotAtFrameStart[(int) ((frame - frames + 1) & (HISTORY - 1))];
+        long covered = current - from;
+        if (covered <= 0) return false;
+        return ((current - 1 - id) & (SLOTS - 1)) < Math.min(covered, SLOTS);
+    }
+
+    /**
+     * Queues a mob to think this frame if its slot came up. Safe to call from parallel chunk updates.
+     * @return True if it was queued.
+     */
+    public boolean offer(long id, T thinker) {
+        return offer(id, thinker, 1);
+    }
+
+    /**
+     * As {@link #offer(long, Object)}, for chunks updated only every few frames: queues the mob if
+     * its slot came up in any of the last frames frames, this one included.
+     */
+    public boolean offer(long id, T thinker, int frames) {
+        if (!isDue(id, frames)) return false;
+        offered.add(thinker);
+        return true;
+    }
+
+    /**
+     * Lets queued mobs think, carried-over ones first, until the budget is spent.
+     * @param budgetNanos Time to spend; at least one mob thinks if any are queued.
+     * @return Number of mobs that thought.
+     */
+    public int run(Consumer<? super T> think, long budgetNanos) {
+        long start = System.nanoTime();
+        T thinker;
+        while ((thinker = offered.poll()) != null) deferred.add(thinker);
+
+        int thinks = 0;
+        while ((thinker = deferred.peek()) != null) {
+            if (thinks > 0 && System.nanoTime() - start >= budgetNanos) break;
+            deferred.poll();
+            think.accept(thinker);
+            thinks++;
+        }
+        deferredTotal += deferred.size();
+        thinksLastFrame = thinks;
+        return thinks;
+    }
+
+    /**
+     * @return Mobs that thought during the last run.
+     */
+    public int getThinksLastFrame() {
+        return thinksLastFrame;
+    }
+
+    /**
+     * @return Mobs left waiting after the last run.
+     */
+    public int getDeferredCount() {
+        return deferred.size();
+    }
+
+    /**
+     * @return Sum over all runs of the mobs left waiting, i.e. mob-frames of delay.
+     */
+    public long getDeferredTotal() {
+        return deferredTotal;
+    }
+}
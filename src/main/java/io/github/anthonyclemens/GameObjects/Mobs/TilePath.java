@@ -0,0 +1,80 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * A reusable list of absolute tile steps with a read cursor. Steps are kept in two int
+ * arrays that only grow, so planning a new path into the same TilePath does not allocate.
+ */
+public class TilePath implements Serializable {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private int[] xs = new int[INITIAL_CAPACITY];
+    private int[] ys = new int[INITIAL_CAPACITY];
+    private int length = 0;
+    private int cursor = 0;
+
+    public void clear() {
+        length = 0;
+        cursor = 0;
+    }
+
+    public void add(int x, int y) {
+        if (length == xs.length) {
+            xs = Arrays.copyOf(xs, length * 2);
+            ys = Arrays.copyOf(ys, length * 2);
+        }
+        xs[length] = x;
+        ys[length] = y;
+        length++;
+    }
+
+    /**
+     * Replaces this path with the steps other has left to walk.
+     */
+    public void copyFrom(TilePath other) {
+        clear();
+        for (int i = 0; i < other.size(); i++) add(other.getX(i), other.getY(i));
+    }
+
+    public boolean isEmpty() {
+        return cursor >= length;
+    }
+
+    /**
+     * @return Number of steps left to walk.
+     */
+    public int size() {
+        return length - cursor;
+    }
+
+    public int peekX() {
+        return xs[cursor];
+    }
+
+    public int peekY() {
+        return ys[cursor];
+    }
+
+    /**
+     * Drops the current step.
+     */
+    public void advance() {
+        if (cursor < length) cursor++;
+    }
+
+    /**
+     * @param i Step index counted from the current step.
+     */
+    public int getX(int i) {
+        return xs[cursor + i];
+    }
+
+    /**
+     * @param i Step index counted from the current step.
+     */
+    public int getY(int i) {
+        return ys[cursor + i];
+    }
+}
@@ -40,9 +40,9 @@ public class Zombie extends Mob{
     public void update(IsoRenderer r, int deltaTime){
         if(this.dropItem){
             int[] currentLoc = r.screenToIsometric(renderX, renderY);
-            Chunk thisChunk = r.getChunkManager().getChunk(chunkX, chunkY);
+            Chunk thisChunk = r.getChunkManager().peekChunk(chunkX, chunkY);
             this.droppedItem.setLocation(currentLoc[0],currentLoc[1],currentLoc[2],currentLoc[3]);
-            thisChunk.addGameObject(this.droppedItem);
+            if (thisChunk != null) thisChunk.addGameObject(this.droppedItem);
         }
         super.update(r,deltaTime);
         if(r.isSunUp()) {
@@ -51,6 +51,26 @@ public class Zombie extends Mob{
         }
     }
 
+    @Override
+    public void catchUp(Chunk chunk, long elapsedMs, long daylightMs){
+        if(this.health <= 0) return;
+        // Same rate as update: 0 to 2 health, 1 on average, once per damage cooldown in the sun
+        long burn = daylightMs / this.damageCooldown;
+        if(burn <= 0) return;
+        this.health = (int) Math.max(0, this.health - burn);
+        if(this.health == 0) {
+            // A fresh item, so its despawn timer starts now rather than when the zombie spawned
+            Item flesh = new Item(Items.ITEM_ZOMBIE_FLESH, this.x, this.y, this.chunkX, this.chunkY);
+            flesh.setQuantity(this.droppedItem.getQuantity());
+            chunk.addGameObject(flesh);
+        }
+    }
+
+    @Override
+    public boolean isHostile(){
+        return true;
+    }
+
     @Override
     public void removeHealth(int amount){
         super.removeHealth(amount);
@@ -53,8 +53,8 @@ public class BerryBush extends SingleTileObject{
     @Override
     public void update(IsoRenderer r, int deltaTime) {
         if(dropItem){
-            Chunk thisChunk = r.getChunkManager().getChunk(chunkX, chunkY);
-            thisChunk.addGameObject(this.droppedItem);
+            Chunk thisChunk = r.getChunkManager().peekChunk(chunkX, chunkY);
+            if (thisChunk != null) thisChunk.addGameObject(this.droppedItem);
         }
         super.update(r, deltaTime);
         if(System.currentTimeMillis() < endShakeTime){
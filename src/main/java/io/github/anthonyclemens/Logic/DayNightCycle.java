@@ -10,6 +10,7 @@ import org.newdawn.slick.Graphics;
  * Handles the simulation of a day-night cycle, including time progression and overlay color transitions.
  */
 public class DayNightCycle implements Serializable {
+    private static final long serialVersionUID = 1L;
     private float timeOfDay = 8.0f; // Initial time of day (8AM)
     private final Calender calender;
     private final float totalCycleSeconds;
@@ -20,6 +21,8 @@ public class DayNightCycle implements Serializable {
     private final Color nightColor = new Color(15, 15, 64, 150);     // Dark blue tint
     private Color currentOverlayColor = Color.black; // Default to night
     private float lastUpdateTime = 0.0f;
+    // Game time simulated since the world began, in milliseconds; never wraps
+    private long worldTime = 0;
     private final DateTime currentDateTime;
     private final DateTime startDateTime;
 
@@ -47,6 +50,7 @@ public class DayNightCycle implements Serializable {
     public void updateDayNightCycle(float delta) {
         // Increment timeOfDay based on elapsed time (delta) and scale to a 24-hour cycle
         timeOfDay += ((delta/1000.0f) / totalCycleSeconds) * 24.0f;
+        worldTime += (long) delta;
         if (timeOfDay >= 24.0f) {
             timeOfDay -= 24.0f; // Reset to the next day
             calender.incrementDay();
@@ -154,6 +158,36 @@ public class DayNightCycle implements Serializable {
         return this.timeOfDay;
     }
 
+    /**
+     * @return Milliseconds of game time simulated since the world began.
+     */
+    public long getWorldTime(){
+        return this.worldTime;
+    }
+
+    /**
+     * Works out how much of a span of world time fell between sunrise and sunset, without stepping
+     * through it. Assumes the clock ran freely over the span, i.e. was not set in between.
+     * @param from World time the span starts at, in milliseconds.
+     * @param to   World time the span ends at, at most the current world time.
+     * @return Milliseconds of daylight in the span.
+     */
+    public long getDaylightBetween(long from, long to){
+        if (to <= from) return 0;
+        double msPerHour = totalCycleSeconds * 1000.0 / 24.0;
+        double end = timeOfDay - (worldTime - to) / msPerHour;
+        double start = end - (to - from) / msPerHour;
+        return Math.round((daylightHoursUntil(end) - daylightHoursUntil(start)) * msPerHour);
+    }
+
+    // Daylight hours from hour 0 of day 0 up to the given hour, counted over days
+    private double daylightHoursUntil(double hour){
+        double days = Math.floor(hour / 24.0);
+        double hourOfDay = hour - days * 24.0;
+        float dayLength = sunsetTime - sunriseTime;
+        return days * dayLength + Math.max(0.0, Math.min(dayLength, hourOfDay - sunriseTime));
+    }
+
     /**
      * Returns a string representation of the current time in 12-hour format.
      */
@@ -1,6 +1,8 @@
 package io.github.anthonyclemens.Player;
 
-import java.util.Iterator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 import org.newdawn.slick.Input;
 import org.newdawn.slick.geom.Circle;
@@ -14,6 +16,13 @@ import io.github.anthonyclemens.WorldGen.Chunk;
 import io.github.anthonyclemens.WorldGen.World;
 
 public class InteractionController {
+    // Sprites reach up and across neighbouring tiles, so look this far around the clicked tile
+    private static final int HIT_RADIUS = 3;
+
+    // Reused between frames so hit testing does not allocate
+    private final List<GameObject> nearby = new ArrayList<>();
+    private final Consumer<GameObject> collectNearby = nearby::add;
+    private final List<GameObject> hovered = new ArrayList<>();
 
     public InteractionController() {
     }
@@ -27,15 +36,18 @@ public class InteractionController {
         if (!playerReach.contains(mouseX, mouseY)) return;
 
         int[] clickedLoc = r.screenToIsometric(mouseX, mouseY);
-        Chunk chunk = cm.getChunk(clickedLoc[2], clickedLoc[3]);
+        Chunk chunk = cm.getChunkIfReady(clickedLoc[2], clickedLoc[3]);
         if (chunk == null) return;
-        chunk.getGameObjects().forEach(obj -> obj.setHover(false));
+        hovered.forEach(obj -> obj.setHover(false));
+        hovered.clear();
 
-        Iterator<GameObject> iterator = chunk.getGameObjects().iterator();
-        while (iterator.hasNext()) {
-            GameObject obj = iterator.next();
+        nearby.clear();
+        chunk.forEachGameObjectIn(clickedLoc[0] - HIT_RADIUS, clickedLoc[1] - HIT_RADIUS,
+            clickedLoc[0] + HIT_RADIUS, clickedLoc[1] + HIT_RADIUS, collectNearby);
+        for (GameObject obj : nearby) {
             if (!obj.getHitbox().contains(mouseX, mouseY)) continue;
             obj.setHover(true);
+            hovered.add(obj);
             if (!leftPressed && !rightPressed) continue;
 
             // left or right click: pick up item
@@ -43,7 +55,7 @@ public class InteractionController {
                 Items itemType = Items.valueOf(obj.getName());
                 int quantity = ((Item) obj).getQuantity();
                 if (playerInventory.addItem(itemType, quantity)) {
-                    iterator.remove();
+                    chunk.removeGameObject(obj);
                 }
                 continue;
             }
@@ -1,8 +1,10 @@
 package io.github.anthonyclemens.Rendering;
 
-import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
 import java.util.stream.IntStream;
 
+import org.lwjgl.Sys;
 import org.newdawn.slick.Color;
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.Graphics;
@@ -13,6 +15,8 @@ import org.newdawn.slick.util.Log;
 import io.github.anthonyclemens.Logic.DayNightCycle;
 import io.github.anthonyclemens.Player.Player;
 import io.github.anthonyclemens.WorldGen.Chunk;
+import io.github.anthonyclemens.WorldGen.ChunkWindow;
+import io.github.anthonyclemens.WorldGen.SimulationTier;
 import io.github.anthonyclemens.WorldGen.World;
 
 /**
@@ -36,6 +40,8 @@ public class IsoRenderer {
     private boolean cameraMoving = false;
     private boolean isSunUp = true;
     private final FastGraphics fastGraphics = new FastGraphics();
+    private long simulationFrame = 0;
+    private final AtomicIntegerArray tierCounts = new AtomicIntegerArray(SimulationTier.values().length);
 
     public IsoRenderer(float zoom, String worldTileSheet, World chunkManager){
         this.zoom = zoom;
@@ -83,6 +89,15 @@ public class IsoRenderer {
         }
     }
 
+    /**
+     * @return True if the chunk lies in the range of chunks drawn for the current camera.
+     */
+    public boolean isChunkVisible(int chunkX, int chunkY) {
+        int[] visible = this.visibleChunks;
+        return visible != null && chunkX >= visible[0] && chunkX <= visible[2]
+            && chunkY >= visible[1] && chunkY <= visible[3];
+    }
+
     public void render() {
         if (this.visibleChunks == null) return;
 
@@ -90,51 +105,85 @@ public class IsoRenderer {
 
         // First pass: tiles
         worldTileSheet.startUse();
-        IntStream.rangeClosed(visibleChunks[0], visibleChunks[2])
-            .forEach(x -> IntStream.rangeClosed(visibleChunks[1], visibleChunks[3])
-                .forEach(y -> renderChunk(x, y)));
+        forEachVisibleChunk(this::renderChunk);
         worldTileSheet.endUse();
 
         // Second pass: chunk objects
-        IntStream.rangeClosed(visibleChunks[0], visibleChunks[2])
-            .forEach(x -> IntStream.rangeClosed(visibleChunks[1], visibleChunks[3])
-                .mapToObj(y -> chunkManager.getChunk(x, y))
-                .filter(Objects::nonNull)
-                .forEach(c -> c.render(this, lodLevel)));
+        forEachVisibleChunk(c -> c.render(this, lodLevel));
+    }
+
+    // Visible chunks column by column, read from the chunk window. Zoomed far out the screen reaches
+    // past the window's render distance; chunks out there are looked up one by one as before.
+    private void forEachVisibleChunk(Consumer<Chunk> action) {
+        int[] visible = this.visibleChunks;
+        ChunkWindow window = chunkManager.getWindow();
+        if (window != null && window.contains(visible[0], visible[1]) && window.contains(visible[2], visible[3])) {
+            window.forEachIn(visible[0], visible[1], visible[2], visible[3], action);
+            return;
+        }
+        for (int x = visible[0]; x <= visible[2]; x++) {
+            for (int y = visible[1]; y <= visible[3]; y++) {
+                Chunk chunk = window != null && window.contains(x, y) ? window.get(x, y) : chunkManager.getChunkIfReady(x, y);
+                if (chunk != null) action.accept(chunk);
+            }
+        }
     }
 
 
     public void updateChunksAroundPlayer(int deltaTime, Player player, DayNightCycle env, int playerChunkX, int playerChunkY) {
-        IntStream.rangeClosed(playerChunkX - renderDistance, playerChunkX + renderDistance)
-        .parallel()
-        .forEach(x -> IntStream.rangeClosed(playerChunkY - renderDistance, playerChunkY + renderDistance)
-            .mapToObj(y -> chunkManager.getChunk(x, y))
-            .filter(Objects::nonNull)
-            .forEach(chunk -> chunk.update(this, deltaTime, player, env)));
+        long frame = simulationFrame++;
+        int midInterval = chunkManager.getSimMidInterval();
+        long now = Sys.getTime();
+        for (int i = 0; i < tierCounts.length(); i++) tierCounts.set(i, 0);
+        ChunkWindow window = chunkManager.recenterWindow(playerChunkX, playerChunkY, renderDistance);
+        window.stream()
+            .parallel()
+            .forEach(chunk -> {
+                SimulationTier tier = chunkManager.getSimulationTier(chunk.getChunkX(), chunk.getChunkY(), playerChunkX, playerChunkY);
+                tierCounts.incrementAndGet(tier.ordinal());
+                switch (tier) {
+                    case NEAR -> chunk.update(this, deltaTime, player, env);
+                    case MID -> {
+                        // Staggered by position so the mid ring does not all update on the same frame
+                        if (Math.floorMod(frame + chunk.getChunkX() * 7L + chunk.getChunkY() * 13L, midInterval) == 0) {
+                            chunk.update(this, deltaTime, player, env);
+                        } else {
+                            chunk.skipUpdate(deltaTime);
+                        }
+                    }
+                    case FAR -> chunk.updateCoarse(now, env);
+                }
+            });
+        chunkManager.getPopulation().update(this, deltaTime, window, player.getCurrentChunk(), playerChunkX, playerChunkY);
+    }
+
+    /**
+     * @return Chunks in each simulation tier during the last update, indexed by SimulationTier ordinal.
+     */
+    public int getSimulationTierCount(SimulationTier tier) {
+        return tierCounts.get(tier.ordinal());
     }
 
     public void calculateHitbox(IsoRenderer renderer, int playerChunkX, int playerChunkY) {
-        IntStream.rangeClosed(playerChunkX - renderDistance, playerChunkX + renderDistance)
-        .parallel()
-        .forEach(x -> IntStream.rangeClosed(playerChunkY - renderDistance, playerChunkY + renderDistance)
-            .mapToObj(y -> chunkManager.getChunk(x, y))
-            .filter(Objects::nonNull)
-            .forEach(chunk -> chunk.calculateHitbox(renderer)));
+        chunkManager.recenterWindow(playerChunkX, playerChunkY, renderDistance)
+            .stream()
+            .parallel()
+            .forEach(chunk -> chunk.calculateHitbox(renderer));
     }
 
-    private void renderChunk(int chunkX, int chunkY) {
+    private void renderChunk(Chunk chunk) {
         int blockSize = switch (getLODLevel()) {
             case 0 -> 1; // LOD 0
             case 1 -> 2; // LOD 1
             case 2 -> 8; // LOD 2
             default -> 1;
         };
-        renderChunkWithBlockSize(chunkX, chunkY, blockSize);
+        renderChunkWithBlockSize(chunk, blockSize);
     }
 
-    private void renderChunkWithBlockSize(int chunkX, int chunkY, int blockSize) {
-        Chunk chunk = chunkManager.getChunk(chunkX, chunkY);
-        if (chunk == null) return;
+    private void renderChunkWithBlockSize(Chunk chunk, int blockSize) {
+        int chunkX = chunk.getChunkX();
+        int chunkY = chunk.getChunkY();
 
         int lodLevel = switch (blockSize) { case 1 -> 0; case 2 -> 1; default -> 2; };
         int lodSize = chunk.getChunkSize() / blockSize;
@@ -162,6 +162,137 @@ public class Settings {
         writeToFile("UpKey", upKey);
     }
 
+    /**
+     * Whether unmodified chunks are dropped when they leave render distance and regenerated later.
+     * Defaults to true when the setting is missing.
+     */
+    public boolean isDiscardCleanChunks() {
+        String value = readFromFile("DiscardCleanChunks");
+        return value.isEmpty() || Boolean.parseBoolean(value);
+    }
+
+    public void setDiscardCleanChunks(boolean discard) {
+        writeToFile("DiscardCleanChunks", String.valueOf(discard));
+    }
+
+    /**
+     * Maximum number of chunks kept in memory before the least recently used are evicted, 0 for no limit.
+     */
+    public int getMaxResidentChunks() {
+        return readInt("MaxResidentChunks", 4096);
+    }
+
+    public void setMaxResidentChunks(int maxResidentChunks) {
+        writeToFile("MaxResidentChunks", String.valueOf(maxResidentChunks));
+    }
+
+    /**
+     * Estimated chunk memory in megabytes kept before the least recently used are evicted, 0 for no limit.
+     */
+    public int getMaxResidentChunkMB() {
+        return readInt("MaxResidentChunkMB", 0);
+    }
+
+    public void setMaxResidentChunkMB(int maxResidentChunkMB) {
+        writeToFile("MaxResidentChunkMB", String.valueOf(maxResidentChunkMB));
+    }
+
+    /**
+     * Whether chunk tiles are stored palette packed, trading render speed for memory.
+     */
+    public boolean isPackChunkTiles() {
+        return Boolean.parseBoolean(readFromFile("PackChunkTiles"));
+    }
+
+    public void setPackChunkTiles(boolean pack) {
+        writeToFile("PackChunkTiles", String.valueOf(pack));
+    }
+
+    /**
+     * Chunks within this many chunks of the player are simulated fully every frame.
+     */
+    public int getSimNearRadius() {
+        return readInt("SimNearRadius", 2);
+    }
+
+    public void setSimNearRadius(int radius) {
+        writeToFile("SimNearRadius", String.valueOf(radius));
+    }
+
+    /**
+     * Chunks within this many chunks of the player, past the near radius, are simulated every few frames.
+     */
+    public int getSimMidRadius() {
+        return readInt("SimMidRadius", 5);
+    }
+
+    public void setSimMidRadius(int radius) {
+        writeToFile("SimMidRadius", String.valueOf(radius));
+    }
+
+    /**
+     * Frames between updates of a mid-range chunk.
+     */
+    public int getSimMidInterval() {
+        return readInt("SimMidInterval", 4);
+    }
+
+    public void setSimMidInterval(int frames) {
+        writeToFile("SimMidInterval", String.valueOf(frames));
+    }
+
+    /**
+     * Enemy spawn attempts per second at night.
+     */
+    public int getSpawnBudget() {
+        return readInt("SpawnBudget", 2);
+    }
+
+    public void setSpawnBudget(int attempts) {
+        writeToFile("SpawnBudget", String.valueOf(attempts));
+    }
+
+    /**
+     * Most hostile mobs across all simulated chunks.
+     */
+    public int getHostileCap() {
+        return readInt("HostileCap", 48);
+    }
+
+    public void setHostileCap(int cap) {
+        writeToFile("HostileCap", String.valueOf(cap));
+    }
+
+    /**
+     * Most hostile mobs spawned into one chunk.
+     */
+    public int getChunkHostileCap() {
+        return readInt("ChunkHostileCap", 3);
+    }
+
+    public void setChunkHostileCap(int cap) {
+        writeToFile("ChunkHostileCap", String.valueOf(cap));
+    }
+
+    /**
+     * Chunks further than this from the player get no spawns, and lose their hostile mobs once off screen.
+     */
+    public int getDespawnDistance() {
+        return readInt("DespawnDistance", 4);
+    }
+
+    public void setDespawnDistance(int chunks) {
+        writeToFile("DespawnDistance", String.valueOf(chunks));
+    }
+
+    private int readInt(String key, int fallback) {
+        try{
+            return Integer.parseInt(readFromFile(key));
+        }catch(Exception e){
+            return fallback;
+        }
+    }
+
     private String readFromFile(String key) {
         try {
             File file = new File(SETTINGS_FILE);
@@ -269,5 +400,16 @@ public class Settings {
         settings.setFriendlyVolume(1f);
         settings.setEnemyVolume(1f);
         settings.setUpKey("W");
+        settings.setDiscardCleanChunks(true);
+        settings.setMaxResidentChunks(4096);
+        settings.setMaxResidentChunkMB(0);
+        settings.setPackChunkTiles(false);
+        settings.setSimNearRadius(2);
+        settings.setSimMidRadius(5);
+        settings.setSimMidInterval(4);
+        settings.setSpawnBudget(2);
+        settings.setHostileCap(48);
+        settings.setChunkHostileCap(3);
+        settings.setDespawnDistance(4);
     }
 }
\ No newline at end of file
@@ -0,0 +1,202 @@
+package io.github.anthonyclemens.WorldGen;
+
+import io.github.anthonyclemens.utils.ConcurrentLongMap;
+
+/**
+ * Caches the climate fields (elevation, moisture, temperature) and the derived biome for
+ * regions of 32x32 chunks. A region is computed in one batch the first time any chunk in it
+ * is asked for, so neighbouring chunks stop resampling the same noise; lookups after that are
+ * plain array reads. The least recently used regions are dropped once the cache is full.
+ */
+public class BiomeCache {
+    public static final int REGION_SHIFT = 5;
+    public static final int REGION_SIZE = 1 << REGION_SHIFT;
+    private static final int REGION_MASK = REGION_SIZE - 1;
+    // The beach check looks up to 2 chunks away, so elevation is sampled with a margin
+    private static final int MARGIN = 2;
+    private static final int ELEVATION_SIDE = REGION_SIZE + 2 * MARGIN;
+    private static final int DEFAULT_MAX_REGIONS = 64;
+
+    // Biome generation tuning parameters
+    private static final double ELEVATION_FREQ = 0.010;
+    private static final double MOISTURE_FREQ = 0.028;
+    private static final double TEMPERATURE_FREQ = 0.020;
+    private static final double WATER_THRESHOLD = 0.3;
+    private static final double BEACH_MIN_ELEV = WATER_THRESHOLD;
+    private static final double BEACH_MAX_ELEV = 0.4;
+    private static final int[][] NEIGHBOR_OFFSETS = {
+        {-2, 0}, {2, 0}, {0, -2}, {0, 2},
+        {-1, -1}, {-1, 1}, {1, -1}, {1, 1},
+        {-1, 0}, {1, 0}, {0, -1}, {0, 1}
+    };
+
+    private static final class Region {
+        final int regionX;
+        final int regionY;
+        final double[] elevation = new double[ELEVATION_SIDE * ELEVATION_SIDE];
+        final double[] moisture = new double[REGION_SIZE * REGION_SIZE];
+        final double[] temperature = new double[REGION_SIZE * REGION_SIZE];
+        final Biome[] biomes = new Biome[REGION_SIZE * REGION_SIZE];
+        volatile long lastUsed;
+
+        Region(int regionX, int regionY) {
+            this.regionX = regionX;
+            this.regionY = regionY;
+        }
+    }
+
+    private final NoiseGenerator elevationGen;
+    private final NoiseGenerator moistureGen;
+    private final NoiseGenerator temperatureGen;
+    private final int maxRegions;
+    private final ConcurrentLongMap<Region> regions = new ConcurrentLongMap<>(DEFAULT_MAX_REGIONS);
+    private final Object evictionLock = new Object();
+    private volatile Region lastRegion;
+    // Racy on purpose; it only orders regions for eviction
+    private long accessClock = 0;
+
+    public BiomeCache(NoiseGenerator elevationGen, NoiseGenerator moistureGen, NoiseGenerator temperatureGen) {
+        this(elevationGen, moistureGen, temperatureGen, DEFAULT_MAX_REGIONS);
+    }
+
+    /**
+     * @param maxRegions Number of regions kept before the least recently used is evicted.
+     */
+    public BiomeCache(NoiseGenerator elevationGen, NoiseGenerator moistureGen, NoiseGenerator temperatureGen, int maxRegions) {
+        this.elevationGen = elevationGen;
+        this.moistureGen = moistureGen;
+        this.temperatureGen = temperatureGen;
+        this.maxRegions = Math.max(1, maxRegions);
+    }
+
+    /**
+     * Gets the biome for a chunk, computing its whole region on first use.
+     */
+    public Biome getBiome(int chunkX, int chunkY) {
+        return region(chunkX, chunkY).biomes[localIndex(chunkX, chunkY)];
+    }
+
+    /**
+     * @return Normalized (0..1) elevation at a chunk.
+     */
+    public double getElevation(int chunkX, int chunkY) {
+        Region r = region(chunkX, chunkY);
+        return r.elevation[((chunkY & REGION_MASK) + MARGIN) * ELEVATION_SIDE + (chunkX & REGION_MASK) + MARGIN];
+    }
+
+    /**
+     * @return Normalized (0..1) moisture at a chunk.
+     */
+    public double getMoisture(int chunkX, int chunkY) {
+        return region(chunkX, chunkY).moisture[localIndex(chunkX, chunkY)];
+    }
+
+    /**
+     * @return Normalized (0..1) temperature at a chunk.
+     */
+    public double getTemperature(int chunkX, int chunkY) {
+        return region(chunkX, chunkY).temperature[localIndex(chunkX, chunkY)];
+    }
+
+    /**
+     * @return Number of regions currently cached.
+     */
+    public int getRegionCount() {
+        return regions.size();
+    }
+
+    public void clear() {
+        regions.clear();
+        lastRegion = null;
+    }
+
+    private Region region(int chunkX, int chunkY) {
+        int regionX = chunkX >> REGION_SHIFT;
+        int regionY = chunkY >> REGION_SHIFT;
+        Region r = lastRegion;
+        if (r == null || r.regionX != regionX || r.regionY != regionY) {
+            r = regions.get(ConcurrentLongMap.pack(regionX, regionY));
+            if (r == null) r = load(regionX, regionY);
+            lastRegion = r;
+        }
+        r.lastUsed = ++accessClock;
+        return r;
+    }
+
+    private Region load(int regionX, int regionY) {
+        Region r = regions.computeIfAbsent(ConcurrentLongMap.pack(regionX, regionY), key -> build(regionX, regionY));
+        if (regions.size() > maxRegions) evictColdest();
+        return r;
+    }
+
+    private void evictColdest() {
+        synchronized (evictionLock) {
+            while (regions.size() > maxRegions) {
+                Region coldest = null;
+                for (Region r : regions.values()) {
+                    if (coldest == null || r.lastUsed < coldest.lastUsed) coldest = r;
+                }
+                if (coldest == null) return;
+                regions.remove(ConcurrentLongMap.pack(coldest.regionX, coldest.regionY));
+            }
+        }
+    }
+
+    private Region build(int regionX, int regionY) {
+        Region r = new Region(regionX, regionY);
+        int baseX = regionX << REGION_SHIFT;
+        int baseY = regionY << REGION_SHIFT;
+
+        int originX = baseX - MARGIN;
+        int originY = baseY - MARGIN;
+        elevationGen.generateGrid(originX * ELEVATION_FREQ, originY * ELEVATION_FREQ, ELEVATION_FREQ, ELEVATION_FREQ,
+            ELEVATION_SIDE, ELEVATION_SIDE, r.elevation);
+        moistureGen.generateGrid(baseX * MOISTURE_FREQ, baseY * MOISTURE_FREQ, MOISTURE_FREQ, MOISTURE_FREQ,
+            REGION_SIZE, REGION_SIZE, r.moisture);
+        temperatureGen.generateGrid(baseX * TEMPERATURE_FREQ, baseY * TEMPERATURE_FREQ, TEMPERATURE_FREQ, TEMPERATURE_FREQ,
+            REGION_SIZE, REGION_SIZE, r.temperature);
+        normalize(r.elevation);
+        normalize(r.moisture);
+        normalize(r.temperature);
+
+        for (int ly = 0; ly < REGION_SIZE; ly++) {
+            for (int lx = 0; lx < REGION_SIZE; lx++) {
+                int i = ly * REGION_SIZE + lx;
+                r.biomes[i] = classify(r, lx, ly, r.moisture[i], r.temperature[i]);
+            }
+        }
+        return r;
+    }
+
+    private static Biome classify(Region r, int lx, int ly, double moisture, double temperature) {
+        double elevation = r.elevation[(ly + MARGIN) * ELEVATION_SIDE + lx + MARGIN];
+        if (elevation < WATER_THRESHOLD) return Biome.WATER;
+
+        boolean nearWater = false;
+        for (int[] offset : NEIGHBOR_OFFSETS) {
+            double neighborElev = r.elevation[(ly + MARGIN + offset[1]) * ELEVATION_SIDE + lx + MARGIN + offset[0]];
+            if (neighborElev < WATER_THRESHOLD) {
+                nearWater = true;
+                break;
+            }
+        }
+
+        if (nearWater && elevation >= BEACH_MIN_ELEV && elevation <= BEACH_MAX_ELEV)
+            return Biome.BEACH;
+
+        return Biome.getBiomeFromClimate(elevation, moisture, temperature);
+    }
+
+    private static int localIndex(int chunkX, int chunkY) {
+        return (chunkY & REGION_MASK) * REGION_SIZE + (chunkX & REGION_MASK);
+    }
+
+    /**
+     * Brings -1.0..1.0 to 0.0..1.0, in place.
+     */
+    private static void normalize(double[] values) {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (values[i] + 1.0) / 2.0;
+        }
+    }
+}
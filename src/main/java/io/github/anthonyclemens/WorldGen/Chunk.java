@@ -2,11 +2,9 @@ package io.github.anthonyclemens.WorldGen;
 
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import java.util.Random;
-import java.util.UUID;
+import java.util.function.Consumer;
 
 import org.lwjgl.Sys;
 
@@ -16,12 +14,14 @@ import io.github.anthonyclemens.GameObjects.SingleTileObjects.Item;
 import io.github.anthonyclemens.Logic.DayNightCycle;
 import io.github.anthonyclemens.Player.Player;
 import io.github.anthonyclemens.Rendering.IsoRenderer;
+import io.github.anthonyclemens.utils.ConcurrentLongMap;
 
 /**
  * Represents a chunk of the world, containing tiles and game objects.
  * Handles tile generation, LOD, and biome blending.
  */
 public class Chunk implements Serializable {
+    private static final long serialVersionUID = 1L;
     private boolean isDirty = false;
     private final int chunkSize;
     private final List<GameObject> gameObjects;
@@ -29,19 +29,45 @@ public class Chunk implements Serializable {
     private final Biome biome;
     private final int chunkX;
     private final int chunkY;
-    private final byte[][] tiles;
-    private transient byte[][] lod1Tiles;
-    private transient byte[][] lod2Tiles; // Add LOD2 storage
+    private final TileBuffer tiles;
+    // LODs are flat row-major arrays, rebuilt lazily after loading
+    private transient byte[] lod1Tiles;
+    private transient byte[] lod2Tiles;
+    private transient volatile long lastTouched;
+    // Tile cell -> objects, rebuilt lazily after loading
+    private transient volatile GameObjectIndex objectIndex;
+    // Step costs per movement class, rebuilt lazily from the tiles after loading
+    private transient volatile NavigationLayers navigation;
+    // Entity ID -> object; each object also records its slot in gameObjects. Rebuilt lazily after loading
+    private transient ConcurrentLongMap<GameObject> objectsById;
+    // Time and frames a mid-range chunk went without an update, made up on its next one
+    private transient int skippedTime = 0;
+    private transient int skippedFrames = 0;
+    // Longest delta one update hands to objects, so a long skip cannot fling mobs across the map
+    static final int MAX_UPDATE_DELTA_MS = 250;
+    // World time this chunk was last simulated at, or -1 before its first update
+    private long lastSimulated = -1;
+    // Gaps longer than this are made up in one batch rather than ignored
+    private static final long CATCH_UP_AFTER_MS = 1_000;
+    // Far chunks apply elapsed time in steps of this much
+    private static final long COARSE_STEP_MS = 5_000;
+    // After this long unsimulated, hostile mobs past SETTLED_HOSTILE_LIMIT are assumed to have wandered off
+    private static final long SETTLE_AFTER_MS = 60_000;
+    private static final int SETTLED_HOSTILE_LIMIT = 4;
+    // Rough per-object heap cost used for the residency budget
+    private static final int ESTIMATED_OBJECT_BYTES = 256;
+    private static final int ESTIMATED_CHUNK_OVERHEAD_BYTES = 512;
 
     /**
      * Constructs a Chunk with the specified parameters.
      * Now requires neighbor biomes to be passed in.
+     * @param seed Chunk seed; see {@link World#chunkSeed} for how it is derived.
      */
-    public Chunk(int chunkSize, Biome biome, int chunkX, int chunkY, int seed,
+    public Chunk(int chunkSize, Biome biome, int chunkX, int chunkY, long seed,
                  Biome[] neighborBiomes){
-        this.rand = new Random(seed+chunkX*2+chunkY*7);
+        this.rand = new Random(seed);
         this.chunkSize = chunkSize;
-        this.tiles = new byte[chunkSize][chunkSize];
+        this.tiles = new TileBuffer(chunkSize);
         this.gameObjects = new ArrayList<>();
         this.biome = biome;
         this.chunkX = chunkX;
@@ -63,10 +89,10 @@ public class Chunk implements Serializable {
 
                 if (blendingBiome != null) {
                     // Blend with the neighboring biome
-                    this.tiles[x][y] = (byte) generateTileForBiomeWithBlending(this.biome, blendingBiome);
+                    this.tiles.set(x, y, generateTileForBiomeWithBlending(this.biome, blendingBiome));
                 } else {
                     // No blending needed, generate tile for the main biome
-                    this.tiles[x][y] = (byte) generateTileForBiome(this.biome);
+                    this.tiles.set(x, y, generateTileForBiome(this.biome));
                 }
             }
         }
@@ -117,28 +143,13 @@ public class Chunk implements Serializable {
      * Generates Level of Detail (LOD) tiles for rendering optimization.
      */
     private void generateLODs() {
-        int lod1Size = chunkSize / 2;
-        this.lod1Tiles = new byte[lod1Size][lod1Size];
-        for (int x = 0; x < lod1Size; x++) {
-            for (int y = 0; y < lod1Size; y++) {
-                int aggregatedValue = aggregateRegion(x * 2, y * 2, 2, 2);
-                if (aggregatedValue < 0 || aggregatedValue > 255) {
-                    aggregatedValue = 0;
-                }
-                this.lod1Tiles[x][y] = (byte) aggregatedValue;
-            }
-        }
-        int lod2Size = chunkSize / 8;
-        this.lod2Tiles = new byte[lod2Size][lod2Size];
-        for (int x = 0; x < lod2Size; x++) {
-            for (int y = 0; y < lod2Size; y++) {
-                int aggregatedValue = aggregateRegion(x * 8, y * 8, 8, 8);
-                if (aggregatedValue < 0 || aggregatedValue > 255) {
-                    aggregatedValue = 0;
-                }
-                this.lod2Tiles[x][y] = (byte) aggregatedValue;
-            }
-        }
+        int lod1Size = chunkSize / LodBuilder.LOD1_SCALE;
+        int lod2Size = chunkSize / LodBuilder.LOD2_SCALE;
+        byte[] lod1 = new byte[lod1Size * lod1Size];
+        byte[] lod2 = new byte[lod2Size * lod2Size];
+        LodBuilder.build(tiles, lod1, lod2);
+        this.lod1Tiles = lod1;
+        this.lod2Tiles = lod2;
     }
 
     /**
@@ -148,29 +159,6 @@ public class Chunk implements Serializable {
         return biome;
     }
 
-    /**
-     * Aggregates a region of tiles to determine the most frequent value (for LOD).
-     */
-    private int aggregateRegion(int startX, int startY, int width, int height) {
-        Map<Integer, Integer> frequencyMap = new HashMap<>();
-        for (int x = startX; x < startX + width; x++) {
-            for (int y = startY; y < startY + height; y++) {
-                int value = tiles[x][y];
-                frequencyMap.put(value, frequencyMap.getOrDefault(value, 0) + 1);
-            }
-        }
-
-        int mostFrequentValue = -1;
-        int maxFrequency = -1;
-        for (Map.Entry<Integer, Integer> entry : frequencyMap.entrySet()) {
-            if (entry.getValue() > maxFrequency) {
-                mostFrequentValue = entry.getKey();
-                maxFrequency = entry.getValue();
-            }
-        }
-        return mostFrequentValue;
-    }
-
     /**
      * Gets a tile value at a given LOD level.
      * @param lodLevel 0 for full detail, 1 for LOD1, 2 for LOD2.
@@ -179,37 +167,144 @@ public class Chunk implements Serializable {
      * @return Tile value.
      */
     public int getLODTile(int lodLevel, int x, int y) {
-        if (lodLevel == 1) return getLod1Tiles()[x][y] & 0xFF;
-        if (lodLevel == 2) return getLod2Tiles()[x][y] & 0xFF;
-        return tiles[x][y] & 0xFF;
+        if (lodLevel == 1) return getLod1Tiles()[y * (chunkSize / 2) + x] & 0xFF;
+        if (lodLevel == 2) return getLod2Tiles()[y * (chunkSize / 8) + x] & 0xFF;
+        return tiles.get(x, y);
     }
 
     /**
      * Adds a GameObject to this chunk.
      */
-    public void addGameObject(GameObject obj) {
+    public synchronized void addGameObject(GameObject obj) {
+        getObjectLookup().put(obj.getId(), obj);
+        obj.setChunkSlot(gameObjects.size());
         gameObjects.add(obj);
+        if (objectIndex != null) objectIndex.add(obj);
         this.isDirty = true;
     }
 
     /**
      * Adds multiple GameObjects to this chunk.
      */
-    public void addGameObjects(List<GameObject> gobs) {
+    public synchronized void addGameObjects(List<GameObject> gobs) {
+        ConcurrentLongMap<GameObject> lookup = getObjectLookup();
         gameObjects.addAll(gobs);
         gameObjects.sort((o1, o2) -> o1.getTileSheetName().compareTo(o2.getTileSheetName()));
+        renumberSlots();
+        gobs.forEach(obj -> lookup.put(obj.getId(), obj));
+        if (objectIndex != null) gobs.forEach(objectIndex::add);
     }
 
     /**
-     * Removes a GameObject by index.
+     * Removes a GameObject by entity ID.
      */
-    public void removeGameObject(UUID uuid){
-        GameObject toRemove = gameObjects.parallelStream()
-                .filter(gob -> gob.getUUID().equals(uuid))
-                .findFirst()
-                .orElse(null);
-        gameObjects.remove(toRemove);
+    public synchronized void removeGameObject(long id){
+        GameObject toRemove = getObjectLookup().get(id);
+        if (toRemove != null) removeGameObject(toRemove);
+        this.isDirty = true;
+    }
+
+    /**
+     * Removes a GameObject from this chunk in constant time. The last object takes its slot,
+     * so removal does not keep list order.
+     * @return True if the object was in this chunk.
+     */
+    public synchronized boolean removeGameObject(GameObject obj) {
+        getObjectLookup();
+        int slot = obj.getChunkSlot();
+        if (slot < 0 || slot >= gameObjects.size() || gameObjects.get(slot) != obj) return false;
+        GameObject last = gameObjects.remove(gameObjects.size() - 1);
+        if (last != obj) {
+            gameObjects.set(slot, last);
+            last.setChunkSlot(slot);
+        }
+        obj.setChunkSlot(-1);
+        objectsById.remove(obj.getId());
+        if (objectIndex != null) objectIndex.remove(obj);
         this.isDirty = true;
+        return true;
+    }
+
+    /**
+     * Moves an object to the index cell for its current tile, after its x/y changed.
+     */
+    public synchronized void reindexGameObject(GameObject obj) {
+        if (objectIndex != null) objectIndex.reindex(obj);
+    }
+
+    /**
+     * @return True if a solid object stands on the tile. A bit test that takes no lock.
+     */
+    public boolean isBlocked(int x, int y) {
+        GameObjectIndex index = objectIndex;
+        if (index == null) index = getObjectIndex();
+        return index.isBlocked(x, y);
+    }
+
+    /**
+     * Visits the single-tile objects standing on one tile.
+     */
+    public synchronized void forEachGameObjectAt(int x, int y, Consumer<? super GameObject> action) {
+        getObjectIndex().forEachAt(x, y, action);
+    }
+
+    /**
+     * Visits the objects standing in an inclusive tile rectangle, plus any multi-tile objects.
+     */
+    public synchronized void forEachGameObjectIn(int x0, int y0, int x1, int y1, Consumer<? super GameObject> action) {
+        getObjectIndex().forEachInRect(x0, y0, x1, y1, action);
+    }
+
+    /**
+     * @return True if a solid object other than a mob stands on the tile.
+     */
+    public boolean isStaticBlocked(int x, int y) {
+        GameObjectIndex index = objectIndex;
+        if (index == null) index = getObjectIndex();
+        return index.isStaticBlocked(x, y);
+    }
+
+    /**
+     * @return Cost for a mob of the class to step onto the tile, or TileGrid.BLOCKED if the tile is
+     *         not its terrain or a solid object stands on it.
+     */
+    public int stepCost(MovementClass mc, int x, int y) {
+        return isBlocked(x, y) ? TileGrid.BLOCKED : getNavigation().costAt(mc, x, y);
+    }
+
+    /**
+     * As {@link #stepCost}, but ignoring mobs.
+     */
+    public int staticStepCost(MovementClass mc, int x, int y) {
+        return isStaticBlocked(x, y) ? TileGrid.BLOCKED : getNavigation().costAt(mc, x, y);
+    }
+
+    private NavigationLayers getNavigation() {
+        NavigationLayers layers = navigation;
+        if (layers == null) {
+            // Racing builds produce the same costs, so either may win
+            layers = new NavigationLayers(tiles);
+            navigation = layers;
+        }
+        return layers;
+    }
+
+    /**
+     * @return A counter that moves whenever a non-mob obstacle or a tile in this chunk changes.
+     */
+    public long getStaticVersion() {
+        GameObjectIndex index = objectIndex;
+        if (index == null) index = getObjectIndex();
+        return index.getStaticVersion();
+    }
+
+    private synchronized GameObjectIndex getObjectIndex() {
+        if (objectIndex == null) {
+            GameObjectIndex index = new GameObjectIndex(chunkSize);
+            gameObjects.forEach(index::add);
+            objectIndex = index;
+        }
+        return objectIndex;
     }
 
     /**
@@ -219,11 +314,22 @@ public class Chunk implements Serializable {
         return gameObjects;
     }
 
-    public GameObject getGameObject(UUID uuid) {
-        return gameObjects.parallelStream()
-                .filter(gob -> gob.getUUID().equals(uuid))
-                .findFirst()
-                .orElse(null);
+    public GameObject getGameObject(long id) {
+        return getObjectLookup().get(id);
+    }
+
+    private synchronized ConcurrentLongMap<GameObject> getObjectLookup() {
+        if (objectsById == null) {
+            ConcurrentLongMap<GameObject> lookup = new ConcurrentLongMap<>(gameObjects.size() + 16);
+            gameObjects.forEach(obj -> lookup.put(obj.getId(), obj));
+            objectsById = lookup;
+            renumberSlots();
+        }
+        return objectsById;
+    }
+
+    private void renumberSlots() {
+        for (int i = 0; i < gameObjects.size(); i++) gameObjects.get(i).setChunkSlot(i);
     }
 
     /**
@@ -233,45 +339,108 @@ public class Chunk implements Serializable {
         gameObjects.forEach(obj -> obj.render(r,lodLevel));
     }
 
+    /**
+     * Records a frame in which this chunk was not updated; its time is added to the next update.
+     */
+    public void skipUpdate(int deltaTime) {
+        skippedTime = addSkippedTime(skippedTime, deltaTime);
+        skippedFrames++;
+    }
+
+    /**
+     * @return Skipped time after another frame of deltaTime, capped at MAX_UPDATE_DELTA_MS so a long
+     *         stall is not applied all at once.
+     */
+    static int addSkippedTime(int skippedTime, int deltaTime) {
+        return Math.min(skippedTime + deltaTime, MAX_UPDATE_DELTA_MS);
+    }
+
+    /**
+     * Coarse simulation for chunks far from the player: applies elapsed time every few seconds and
+     * clears dead objects and expired items, but nothing moves, thinks or spawns.
+     */
+    public void updateCoarse(long now, DayNightCycle env) {
+        skippedTime = 0;
+        skippedFrames = 0;
+        long worldNow = env.getWorldTime();
+        if (lastSimulated < 0) {
+            lastSimulated = worldNow;
+        } else if (worldNow - lastSimulated >= COARSE_STEP_MS) {
+            catchUp(env, lastSimulated, worldNow);
+            lastSimulated = worldNow;
+        }
+        final List<GameObject> objectsSnapshot = new ArrayList<>(gameObjects);
+        for (GameObject obj : objectsSnapshot) {
+            if (obj == null) continue;
+            if (obj.getHealth() == 0 || (obj instanceof Item item && item.getBirthDelta(now) > 300_000)) {
+                removeGameObject(obj);
+            }
+        }
+    }
+
     /**
      * Updates all GameObjects in this chunk.
      */
     public void update(IsoRenderer r, int deltaTime, Player player , DayNightCycle env) {
+        int elapsed = addSkippedTime(skippedTime, deltaTime);
+        int frames = skippedFrames + 1;
+        skippedTime = 0;
+        skippedFrames = 0;
+        long worldNow = env.getWorldTime();
+        if (lastSimulated >= 0 && worldNow - lastSimulated > CATCH_UP_AFTER_MS) {
+            catchUp(env, lastSimulated, worldNow);
+        }
+        lastSimulated = worldNow;
         // Create a snapshot (shallow copy) of the list to safely iterate
+        // Enemies are spawned by the world's PopulationManager, not here
         final List<GameObject> objectsSnapshot = new ArrayList<>(gameObjects);
-        //Generate new enemies if it is night, and player is not in the current chunk
-        if(!r.isSunUp() && this!=player.getCurrentChunk()) {
-            GameObject nGob = GameObjectGenerator.generateEnemyForBiome(rand, biome, chunkX, chunkY);
-            if(nGob!=null) {
-                nGob.initializeRenderPosition(r);
-                // adding to the snapshot ensures the new enemy is updated this tick
-                // but you must also add it to the real list if it should persist:
-                gameObjects.add(nGob);
-                objectsSnapshot.add(nGob);
-            }
-        }
         long now = Sys.getTime();
         for (GameObject obj : objectsSnapshot) {
             if (obj == null) continue;
 
-            if (obj instanceof Mob mob) {
-                mob.think(now, player, r.getChunkManager());
+            // Thinking happens after all chunks are updated, for the mobs whose slot came up
+            if (obj instanceof Mob mob && !mob.isThinkQueued()
+                && r.getChunkManager().getThinkScheduler().offer(mob.getId(), mob, frames)) {
+                mob.setThinkQueued(true);
             }
 
-            obj.update(r, deltaTime);
+            obj.update(r, elapsed);
+            // Mobs move tile to tile during update; a no-op when the cell is unchanged
+            if (obj instanceof Mob) reindexGameObject(obj);
 
             if (obj.getHealth() == 0) {
-                removeGameObject(obj.getUUID());
+                removeGameObject(obj);
                 continue;
             }
 
             if (obj instanceof Item item && item.getBirthDelta(now) > 300_000) {
-                removeGameObject(item.getUUID());
+                removeGameObject(item);
             }
         }
     }
 
 
+    /**
+     * Applies a span of world time this chunk was not simulated for in one pass, instead of
+     * replaying it: mobs get the elapsed and daylight time (zombies burn), and after a long
+     * absence the hostile count is trimmed. Items need nothing here, as their age is measured
+     * from a clock that kept running. Mobs this kills drop their loot here and are cleared by the caller.
+     */
+    private void catchUp(DayNightCycle env, long from, long to) {
+        long elapsed = to - from;
+        long daylight = env.getDaylightBetween(from, to);
+        int hostiles = 0;
+        for (GameObject obj : new ArrayList<>(gameObjects)) {
+            if (!(obj instanceof Mob mob)) continue;
+            mob.catchUp(this, elapsed, daylight);
+            if (mob.getHealth() == 0 || !mob.isHostile()) continue;
+            if (elapsed >= SETTLE_AFTER_MS && ++hostiles > SETTLED_HOSTILE_LIMIT) {
+                removeGameObject(mob);
+                mob.despawn();
+            }
+        }
+    }
+
     public void calculateHitbox(IsoRenderer r) {
         // Use a snapshot to avoid concurrent modification while calculating hitboxes.
         final List<GameObject> objectsSnapshot = new ArrayList<>(gameObjects);
@@ -298,32 +467,47 @@ public class Chunk implements Serializable {
      * Gets the tile value at the specified coordinates.
      */
     public int getTile(int x, int y) {
-        return tiles[x][y] & 0xFF;
+        return tiles.get(x, y);
+    }
+
+    /**
+     * Sets the tile value at the specified coordinates, updating only the LOD cells above it.
+     */
+    public void setTile(int x, int y, int tile) {
+        tiles.set(x, y, tile);
+        if (lod1Tiles != null && lod2Tiles != null) {
+            LodBuilder.update(tiles, lod1Tiles, lod2Tiles, x, y);
+        }
+        NavigationLayers layers = navigation;
+        if (layers != null) layers.update(x, y, tile);
+        GameObjectIndex index = objectIndex;
+        if (index != null) index.markStaticChanged();
+        this.isDirty = true;
     }
 
-    public byte[][] getTiles(){
+    public TileBuffer getTiles(){
         return this.tiles;
     }
 
-    private byte[][] getLod1Tiles() {
+    private byte[] getLod1Tiles() {
         if (lod1Tiles == null) {
             generateLODs();
         }
         return lod1Tiles;
     }
 
-    public byte[][] getLOD1() {
+    public byte[] getLOD1() {
         return lod1Tiles;
     }
 
-    private byte[][] getLod2Tiles() {
+    private byte[] getLod2Tiles() {
         if (lod2Tiles == null) {
             generateLODs();
         }
         return lod2Tiles;
     }
 
-    public byte[][] getLOD2() {
+    public byte[] getLOD2() {
         return lod2Tiles;
     }
 
@@ -346,4 +530,23 @@ public class Chunk implements Serializable {
     public void setDirty(boolean dirty) {
         isDirty = dirty;
     }
+
+    /**
+     * Marks the chunk as used at the given world tick, for least-recently-used eviction.
+     */
+    public void touch(long tick) {
+        lastTouched = tick;
+    }
+
+    public long getLastTouched() {
+        return lastTouched;
+    }
+
+    /**
+     * @return A rough estimate of the heap this chunk holds, tiles, LODs and objects included.
+     */
+    public long estimateBytes() {
+        long lodBytes = (long) chunkSize * chunkSize / 4 + (long) chunkSize * chunkSize / 64;
+        return ESTIMATED_CHUNK_OVERHEAD_BYTES + tiles.estimateBytes() + lodBytes + (long) gameObjects.size() * ESTIMATED_OBJECT_BYTES;
+    }
 }
@@ -0,0 +1,131 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongFunction;
+import java.util.function.UnaryOperator;
+
+import org.newdawn.slick.util.Log;
+
+import io.github.anthonyclemens.utils.ConcurrentLongMap;
+
+/**
+ * Generates chunks on a small bounded worker pool so the render and update threads never do it.
+ * Each chunk key has at most one generation in flight; callers get its future, or poll the world
+ * again next frame. Requests beyond the queue capacity are dropped and simply re-requested later.
+ */
+public class ChunkGenerationService {
+    private static final int QUEUE_CAPACITY = 512;
+    private static final long RATE_SAMPLE_NS = 1_000_000_000L;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+
+    private final ThreadPoolExecutor pool;
+    private final ConcurrentLongMap<CompletableFuture<Chunk>> pending = new ConcurrentLongMap<>(QUEUE_CAPACITY);
+    private final LongFunction<Chunk> generator;
+    private final UnaryOperator<Chunk> store;
+    private final AtomicLong generatedTotal = new AtomicLong();
+
+    // Rate sampling, only touched by whoever reads the metric (the debug overlay)
+    private long rateSampleStart = System.nanoTime();
+    private long rateSampleCount = 0;
+    private float chunksPerSecond = 0f;
+
+    /**
+     * @param generator Builds a chunk for a packed chunk key.
+     * @param store     Publishes a generated chunk into the world, returning the chunk that ended up stored.
+     */
+    public ChunkGenerationService(LongFunction<Chunk> generator, UnaryOperator<Chunk> store) {
+        this.generator = generator;
+        this.store = store;
+        int workers = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() - 1));
+        this.pool = new ThreadPoolExecutor(workers, workers, 5, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(QUEUE_CAPACITY), r -> {
+                Thread t = new Thread(r, "ChunkGen-" + THREAD_COUNTER.incrementAndGet());
+                t.setDaemon(true);
+                t.setPriority(Thread.NORM_PRIORITY - 1);
+                return t;
+            });
+        this.pool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues generation of a chunk if it is not already in flight.
+     * @param key Packed chunk key.
+     * @return The pending future, or null if the queue is full.
+     */
+    public CompletableFuture<Chunk> request(long key) {
+        CompletableFuture<Chunk> existing = pending.get(key);
+        if (existing != null) return existing;
+
+        CompletableFuture<Chunk> future = new CompletableFuture<>();
+        existing = pending.putIfAbsent(key, future);
+        if (existing != null) return existing;
+
+        try {
+            pool.execute(() -> generate(key, future));
+        } catch (RejectedExecutionException e) {
+            pending.remove(key);
+            future.cancel(false);
+            return null;
+        }
+        return future;
+    }
+
+    /**
+     * @return The in-flight future for a chunk, or null if it is not being generated.
+     */
+    public CompletableFuture<Chunk> getPending(long key) {
+        return pending.get(key);
+    }
+
+    private void generate(long key, CompletableFuture<Chunk> future) {
+        try {
+            Chunk stored = store.apply(generator.apply(key));
+            generatedTotal.incrementAndGet();
+            future.complete(stored);
+        } catch (RuntimeException e) {
+            Log.error("Chunk generation failed for (" + ConcurrentLongMap.unpackX(key) + ", " + ConcurrentLongMap.unpackY(key) + "): " + e.getMessage());
+            future.completeExceptionally(e);
+        } catch (Error e) {
+            // A missing native library or the like breaks every chunk; report it rather than hand out nulls
+            Log.error("Chunk generation failed for (" + ConcurrentLongMap.unpackX(key) + ", " + ConcurrentLongMap.unpackY(key) + ")", e);
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            pending.remove(key);
+            // Never leave a waiter hanging
+            if (!future.isDone()) future.cancel(false);
+        }
+    }
+
+    /**
+     * @return Number of chunks queued or being generated.
+     */
+    public int getQueueDepth() {
+        return pending.size();
+    }
+
+    public long getGeneratedTotal() {
+        return generatedTotal.get();
+    }
+
+    /**
+     * @return Chunks generated per second, averaged over the last full second.
+     */
+    public float getChunksPerSecond() {
+        long now = System.nanoTime();
+        long elapsed = now - rateSampleStart;
+        if (elapsed >= RATE_SAMPLE_NS) {
+            long total = generatedTotal.get();
+            chunksPerSecond = (total - rateSampleCount) * 1_000_000_000f / elapsed;
+            rateSampleCount = total;
+            rateSampleStart = now;
+        }
+        return chunksPerSecond;
+    }
+}
@@ -0,0 +1,268 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BooleanSupplier;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.newdawn.slick.util.Log;
+
+import io.github.anthonyclemens.utils.ConcurrentLongMap;
+
+/**
+ * On-disk store for dirty chunks, laid out as gzipped region files of 32x32 chunks
+ * (the same region_X_Y.dat format the save system writes).
+ * Evicted chunks are spilled on a background thread and merged into their region file;
+ * until the write lands they are still served from memory, so a reload never misses them.
+ * During play the store writes to a scratch folder and only reads the save slot's regions,
+ * so the slot changes only when the game is saved.
+ */
+public class ChunkStore {
+    public static final int REGION_SIZE = 32;
+    // Decoded regions kept for lookups; a region's file is read once, not once per chunk miss
+    private static final int CACHED_REGIONS = 4;
+
+    private final Path regionFolder;
+    // Read-only fallback, e.g. the save slot's regions; null for none
+    private final Path baseFolder;
+    // Region key -> what its file in regionFolder, or else baseFolder, holds; guarded by ioLock
+    private final Map<String, RegionIndex> regionCache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, RegionIndex> eldest) {
+            return size() > CACHED_REGIONS;
+        }
+    };
+    // Chunks waiting to be written; added under spillLock, drained under ioLock with the region files
+    private final ConcurrentLongMap<Chunk> spilling = new ConcurrentLongMap<>(64);
+    private final Object ioLock = new Object();
+    // Orders evictions against load taking a queued chunk; never held across I/O
+    private final Object spillLock = new Object();
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ChunkStore-Writer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Chunks stored in one region file. Each decoded chunk is handed out once; asking again for
+     * one already handed out rereads the file, since the caller may have changed the instance.
+     */
+    private static final class RegionIndex {
+        final Set<Long> stored = new HashSet<>();
+        final Map<Long, Chunk> unclaimed = new HashMap<>();
+    }
+
+    /**
+     * @param regionFolder Folder holding the region files, created on first write.
+     */
+    public ChunkStore(Path regionFolder) {
+        this(regionFolder, null);
+    }
+
+    /**
+     * @param regionFolder Folder spilled chunks are written to, created on first write.
+     * @param baseFolder   Folder read for chunks regionFolder does not have; never written.
+     */
+    public ChunkStore(Path regionFolder, Path baseFolder) {
+        this.regionFolder = regionFolder;
+        this.baseFolder = baseFolder;
+    }
+
+    /**
+     * Creates a store spilling into a new temporary folder, deleted when the game exits.
+     * @param baseFolder The save slot's region folder to read from, or null for a new world.
+     */
+    public static ChunkStore createScratch(Path baseFolder) throws IOException {
+        Path scratch = Files.createTempDirectory("stonetosteel-chunks");
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteFolder(scratch)));
+        return new ChunkStore(scratch, baseFolder);
+    }
+
+    /**
+     * Takes a chunk out of the world and queues it to be written to its region file in the background.
+     * remove runs under the lock load takes the queued chunk under, so a load racing the eviction
+     * finds the chunk either still in the world or already queued here, and never takes the spill
+     * while the chunk is still resident. Writes do not hold that lock, so this never waits on disk.
+     * @param remove Removes the chunk from the world; false if it was already gone.
+     * @return False if nothing was evicted.
+     */
+    public boolean evict(Chunk chunk, BooleanSupplier remove) {
+        synchronized (spillLock) {
+            if (!remove.getAsBoolean()) return false;
+            spilling.put(World.chunkKey(chunk.getChunkX(), chunk.getChunkY()), chunk);
+        }
+        writer.execute(this::drain);
+        return true;
+    }
+
+    /**
+     * Loads a stored chunk, including one that is still waiting to be written.
+     * @return The chunk, or null if it was never stored.
+     */
+    public Chunk load(int chunkX, int chunkY) {
+        synchronized (ioLock) {
+            long key = World.chunkKey(chunkX, chunkY);
+            Chunk pending;
+            synchronized (spillLock) {
+                pending = spilling.remove(key);
+            }
+            if (pending != null) return pending;
+            String regionKey = regionKey(chunkX, chunkY);
+            RegionIndex index = regionCache.get(regionKey);
+            if (index == null || (index.stored.contains(key) && !index.unclaimed.containsKey(key))) {
+                index = indexRegion(regionKey);
+                regionCache.put(regionKey, index);
+            }
+            return index.unclaimed.remove(key);
+        }
+    }
+
+    private RegionIndex indexRegion(String regionKey) {
+        RegionIndex index = new RegionIndex();
+        Path file = regionFile(regionKey);
+        if (!Files.exists(file) && baseFolder != null) file = baseFolder.resolve(file.getFileName());
+        if (!Files.exists(file)) return index;
+        for (Chunk chunk : readRegion(file)) {
+            long key = World.chunkKey(chunk.getChunkX(), chunk.getChunkY());
+            index.stored.add(key);
+            index.unclaimed.put(key, chunk);
+        }
+        return index;
+    }
+
+    /**
+     * Merges every chunk this store has written, and any still queued, into another store's
+     * regions. Used when saving, to carry chunks spilled during play into the save slot.
+     */
+    public void copyRegionsTo(ChunkStore target) {
+        synchronized (ioLock) {
+            drain();
+            File[] files = regionFolder.toFile().listFiles((dir, name) -> name.startsWith("region_") && name.endsWith(".dat"));
+            if (files == null) return;
+            for (File file : files) target.writeRegions(readRegion(file.toPath()));
+        }
+    }
+
+    /**
+     * Writes every queued chunk now, on the calling thread.
+     */
+    public void flush() {
+        drain();
+    }
+
+    /**
+     * @return Number of chunks queued but not yet written.
+     */
+    public int getPendingWrites() {
+        return spilling.size();
+    }
+
+    /**
+     * Merges chunks into their region files, replacing stored copies with the same coordinates.
+     * @param chunks Chunks to write.
+     */
+    public void writeRegions(Collection<Chunk> chunks) {
+        Map<String, List<Chunk>> grouped = new HashMap<>();
+        for (Chunk chunk : chunks) {
+            grouped.computeIfAbsent(regionKey(chunk.getChunkX(), chunk.getChunkY()), k -> new ArrayList<>()).add(chunk);
+        }
+        synchronized (ioLock) {
+            try {
+                Files.createDirectories(regionFolder);
+            } catch (IOException e) {
+                Log.error("Failed to create region folder: " + e.getMessage());
+                return;
+            }
+            for (Map.Entry<String, List<Chunk>> entry : grouped.entrySet()) {
+                mergeRegion(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * @return The region file name key for a chunk, e.g. "0_-1".
+     */
+    public static String regionKey(int chunkX, int chunkY) {
+        return (chunkX / REGION_SIZE) + "_" + (chunkY / REGION_SIZE);
+    }
+
+    public Path regionFile(String regionKey) {
+        return regionFolder.resolve("region_" + regionKey + ".dat");
+    }
+
+    private void drain() {
+        synchronized (ioLock) {
+            if (spilling.isEmpty()) return;
+            List<Chunk> batch = new ArrayList<>(spilling.size());
+            spilling.removeAll(batch::add);
+            writeRegions(batch);
+        }
+    }
+
+    private void mergeRegion(String regionKey, List<Chunk> updates) {
+        Path file = regionFile(regionKey);
+        regionCache.remove(regionKey);
+        Path source = file;
+        if (!Files.exists(source) && baseFolder != null) source = baseFolder.resolve(file.getFileName());
+        Map<Long, Chunk> merged = new LinkedHashMap<>();
+        if (Files.exists(source)) {
+            for (Chunk chunk : readRegion(source)) {
+                merged.put(World.chunkKey(chunk.getChunkX(), chunk.getChunkY()), chunk);
+            }
+        }
+        for (Chunk chunk : updates) {
+            merged.put(World.chunkKey(chunk.getChunkX(), chunk.getChunkY()), chunk);
+        }
+        // Write beside the region and swap it in, so a crash mid-write never truncates it
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (ObjectOutputStream oos = new ObjectOutputStream(new GZIPOutputStream(new FileOutputStream(tmp.toFile())))) {
+            oos.writeObject(new ArrayList<>(merged.values()));
+        } catch (IOException e) {
+            Log.error("Failed to write region " + file.getFileName() + ": " + e.getMessage());
+            return;
+        }
+        try {
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Log.error("Failed to replace region " + file.getFileName() + ": " + e.getMessage());
+        }
+    }
+
+    private static void deleteFolder(Path folder) {
+        File[] files = folder.toFile().listFiles();
+        if (files != null) {
+            for (File file : files) {
+                if (!file.delete()) Log.warn("Could not delete " + file);
+            }
+        }
+        if (!folder.toFile().delete()) Log.warn("Could not delete " + folder);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Chunk> readRegion(Path file) {
+        try (ObjectInputStream ois = new ObjectInputStream(new GZIPInputStream(new FileInputStream(file.toFile())))) {
+            return (List<Chunk>) ois.readObject();
+        } catch (IOException | ClassNotFoundException e) {
+            Log.error("Failed to read region " + file.getFileName() + ": " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+}
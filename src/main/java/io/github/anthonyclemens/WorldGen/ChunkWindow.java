@@ -0,0 +1,186 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * A square window of chunk references centered on the player, stored as a toroidal 2D array.
+ * Chunk (x, y) always lives in slot (x mod side, y mod side), so when the center moves only
+ * the newly exposed row or column has to be filled; everything else stays where it is.
+ * Chunks that are still being generated leave their slot empty until a later recenter picks them up.
+ */
+public class ChunkWindow {
+    private final World world;
+    private final int radius;
+    private final int side;
+    private final Chunk[] slots;
+    private int centerX;
+    private int centerY;
+    private boolean initialized = false;
+    private int missing;
+
+    /**
+     * @param world  The world chunks are pulled from.
+     * @param radius Window radius in chunks; the window is (2*radius+1)^2 chunks.
+     */
+    public ChunkWindow(World world, int radius) {
+        this.world = world;
+        this.radius = radius;
+        this.side = 2 * radius + 1;
+        this.slots = new Chunk[side * side];
+        this.missing = side * side;
+    }
+
+    /**
+     * Moves the window center, filling only the chunks that became exposed,
+     * then picks up any chunks that finished generating since the last call.
+     * @param chunkX New center chunk X.
+     * @param chunkY New center chunk Y.
+     */
+    public void recenter(int chunkX, int chunkY) {
+        shift(chunkX, chunkY);
+        if (missing > 0) fillMissing();
+    }
+
+    private void shift(int chunkX, int chunkY) {
+        if (initialized && chunkX == centerX && chunkY == centerY) return;
+        if (!initialized || Math.abs(chunkX - centerX) >= side || Math.abs(chunkY - centerY) >= side) {
+            centerX = chunkX;
+            centerY = chunkY;
+            fillAll();
+            initialized = true;
+            return;
+        }
+        while (centerX != chunkX) {
+            int step = Integer.signum(chunkX - centerX);
+            centerX += step;
+            fillColumn(centerX + step * radius);
+        }
+        while (centerY != chunkY) {
+            int step = Integer.signum(chunkY - centerY);
+            centerY += step;
+            fillRow(centerY + step * radius);
+        }
+    }
+
+    /**
+     * Gets a chunk from the window in O(1).
+     * @return The chunk, or null if the coordinates fall outside the window or the slot is empty.
+     */
+    public Chunk get(int chunkX, int chunkY) {
+        if (!contains(chunkX, chunkY)) return null;
+        Chunk chunk = slots[slotIndex(chunkX, chunkY)];
+        // Guards against readers on other threads racing a recenter
+        if (chunk == null || chunk.getChunkX() != chunkX || chunk.getChunkY() != chunkY) return null;
+        return chunk;
+    }
+
+    /**
+     * Gets a chunk relative to the window center, e.g. (0, -1) is the chunk north of the player.
+     */
+    public Chunk getRelative(int dx, int dy) {
+        return get(centerX + dx, centerY + dy);
+    }
+
+    public boolean contains(int chunkX, int chunkY) {
+        return initialized
+            && Math.abs(chunkX - centerX) <= radius
+            && Math.abs(chunkY - centerY) <= radius;
+    }
+
+    /**
+     * Visits every chunk in the window, in slot order.
+     */
+    public void forEach(Consumer<Chunk> action) {
+        for (Chunk chunk : slots) {
+            if (chunk != null) action.accept(chunk);
+        }
+    }
+
+    /**
+     * Visits the window's chunks inside a chunk range, column by column as the range would be
+     * walked by coordinates, straight from the slots.
+     */
+    public void forEachIn(int minX, int minY, int maxX, int maxY, Consumer<Chunk> action) {
+        if (!initialized) return;
+        int fromX = Math.max(minX, centerX - radius);
+        int toX = Math.min(maxX, centerX + radius);
+        int fromY = Math.max(minY, centerY - radius);
+        int toY = Math.min(maxY, centerY + radius);
+        for (int x = fromX; x <= toX; x++) {
+            for (int y = fromY; y <= toY; y++) {
+                Chunk chunk = get(x, y);
+                if (chunk != null) action.accept(chunk);
+            }
+        }
+    }
+
+    /**
+     * @return A stream over the chunks in the window; splits well for parallel updates.
+     */
+    public Stream<Chunk> stream() {
+        return Arrays.stream(slots).filter(Objects::nonNull);
+    }
+
+    public int getRadius() {
+        return radius;
+    }
+
+    public int getCenterX() {
+        return centerX;
+    }
+
+    public int getCenterY() {
+        return centerY;
+    }
+
+    /**
+     * @return Number of window slots still waiting on chunk generation.
+     */
+    public int getMissingCount() {
+        return missing;
+    }
+
+    private void fillAll() {
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            for (int y = centerY - radius; y <= centerY + radius; y++) {
+                fill(x, y);
+            }
+        }
+    }
+
+    private void fillColumn(int chunkX) {
+        for (int y = centerY - radius; y <= centerY + radius; y++) {
+            fill(chunkX, y);
+        }
+    }
+
+    private void fillRow(int chunkY) {
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            fill(x, chunkY);
+        }
+    }
+
+    private void fillMissing() {
+        for (int x = centerX - radius; x <= centerX + radius; x++) {
+            for (int y = centerY - radius; y <= centerY + radius; y++) {
+                if (slots[slotIndex(x, y)] == null) fill(x, y);
+            }
+        }
+    }
+
+    private void fill(int chunkX, int chunkY) {
+        int idx = slotIndex(chunkX, chunkY);
+        Chunk previous = slots[idx];
+        Chunk next = world.getChunkIfReady(chunkX, chunkY);
+        slots[idx] = next;
+        if (previous == null && next != null) missing--;
+        else if (previous != null && next == null) missing++;
+    }
+
+    private int slotIndex(int chunkX, int chunkY) {
+        return Math.floorMod(chunkY, side) * side + Math.floorMod(chunkX, side);
+    }
+}
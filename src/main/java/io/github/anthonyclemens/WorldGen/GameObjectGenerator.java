@@ -194,6 +194,10 @@ public class GameObjectGenerator {
         return false; // No overlap
     }
 
+    /**
+     * Places an enemy at a random tile of a chunk; called by the PopulationManager for each spawn attempt.
+     * @return The enemy, or null if the biome has none or the attempt fails.
+     */
     public static GameObject generateEnemyForBiome(Random rand, Biome biome, int chunkX, int chunkY) {
         return switch(biome){
             case PLAINS -> makeZombie(rand, chunkX, chunkY);
@@ -203,14 +207,14 @@ public class GameObjectGenerator {
     }
 
     private static GameObject makeZombie(Random rand, int chunkX, int chunkY) {
-        if(rand.nextFloat(1000) < 999.96) return null;
         int x = rand.nextInt(World.CHUNK_SIZE);
         int y = rand.nextInt(World.CHUNK_SIZE);
         return new Zombie(x, y, chunkX, chunkY);
     }
 
     private static GameObject makeSpider(Random rand, int chunkX, int chunkY) {
-        if(rand.nextFloat(1000) < 999.98) return null;
+        // Spiders are half as common as zombies
+        if(rand.nextBoolean()) return null;
         int x = rand.nextInt(World.CHUNK_SIZE);
         int y = rand.nextInt(World.CHUNK_SIZE);
         return new Spider(x, y, chunkX, chunkY);
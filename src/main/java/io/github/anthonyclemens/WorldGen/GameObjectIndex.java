@@ -0,0 +1,272 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import io.github.anthonyclemens.GameObjects.Building.MultiTileObject;
+import io.github.anthonyclemens.GameObjects.GameObject;
+import io.github.anthonyclemens.GameObjects.Mobs.Mob;
+
+/**
+ * Buckets a chunk's GameObjects by the tile cell they stand on, so positional queries only
+ * look at the objects in the cells asked about. Multi-tile objects span several cells and are
+ * kept in a separate list that rectangle queries always include.
+ * Each object remembers which bucket it is in, so removing or moving one never scans.
+ * Bitmasks of blocked cells are kept up to date as objects come and go, so walkability is a
+ * single bit test: one counting every solid object, one counting only those that do not move.
+ * Queries do not allocate. Not thread safe on its own; Chunk synchronizes writes, and
+ * blocked-cell reads may race harmlessly with them.
+ */
+public class GameObjectIndex {
+    private static final int INITIAL_BUCKET = 2;
+
+    private final int size;
+    private final GameObject[][] cells;
+    private final int[] counts;
+    private final List<GameObject> large = new ArrayList<>();
+    // One bit per cell, row-major, set while a solid object stands there
+    private final long[] blocked;
+    // As blocked, but ignoring mobs
+    private final long[] staticBlocked;
+    // Bumped whenever any index's static mask changes, so cached path data can tell it is stale
+    private static final AtomicLong STATIC_CHANGES = new AtomicLong();
+    // Last value of the global counter this index moved; unique, so a reloaded chunk never matches a stale one
+    private volatile long staticVersion = STATIC_CHANGES.incrementAndGet();
+
+    /**
+     * @param size Chunk width and height in tiles.
+     */
+    public GameObjectIndex(int size) {
+        this.size = size;
+        this.cells = new GameObject[size * size][];
+        this.counts = new int[size * size];
+        this.blocked = new long[(size * size + 63) >>> 6];
+        this.staticBlocked = new long[blocked.length];
+    }
+
+    /**
+     * @return A version that changes whenever this index's non-mob obstacles change, and differs between indexes.
+     */
+    public long getStaticVersion() {
+        return staticVersion;
+    }
+
+    /**
+     * Moves the static version for a change to the chunk's walkability that is not an object,
+     * such as a tile being replaced.
+     */
+    public void markStaticChanged() {
+        staticVersion = STATIC_CHANGES.incrementAndGet();
+    }
+
+    /**
+     * @return A counter that moves whenever a non-mob obstacle appears or disappears anywhere.
+     */
+    public static long getStaticChangeCount() {
+        return STATIC_CHANGES.get();
+    }
+
+    public void add(GameObject obj) {
+        if (obj.getIndexCell() != GameObject.NOT_INDEXED) return;
+        if (obj instanceof MultiTileObject) {
+            large.add(obj);
+            obj.setIndexCell(GameObject.INDEXED_LARGE);
+            refreshAnchor(obj);
+            return;
+        }
+        int cell = cellOf(obj);
+        GameObject[] bucket = cells[cell];
+        if (bucket == null) {
+            bucket = new GameObject[INITIAL_BUCKET];
+            cells[cell] = bucket;
+        } else if (counts[cell] == bucket.length) {
+            bucket = Arrays.copyOf(bucket, bucket.length * 2);
+            cells[cell] = bucket;
+        }
+        bucket[counts[cell]++] = obj;
+        obj.setIndexCell(cell + 1);
+        if (obj.isSolid()) {
+            blocked[cell >>> 6] |= 1L << cell;
+            if (!(obj instanceof Mob)) setStatic(cell, true);
+        }
+    }
+
+    public void remove(GameObject obj) {
+        int slot = obj.getIndexCell();
+        if (slot == GameObject.NOT_INDEXED) return;
+        obj.setIndexCell(GameObject.NOT_INDEXED);
+        if (slot == GameObject.INDEXED_LARGE) {
+            large.remove(obj);
+            refreshAnchor(obj);
+            return;
+        }
+        int cell = slot - 1;
+        GameObject[] bucket = cells[cell];
+        int n = counts[cell];
+        for (int i = 0; i < n; i++) {
+            if (bucket[i] == obj) {
+                bucket[i] = bucket[n - 1];
+                bucket[n - 1] = null;
+                counts[cell] = n - 1;
+                refreshBlocked(cell);
+                return;
+            }
+        }
+    }
+
+    /**
+     * Moves an object to the bucket for its current position, if it changed cell.
+     */
+    public void reindex(GameObject obj) {
+        int slot = obj.getIndexCell();
+        if (slot == GameObject.NOT_INDEXED || slot == GameObject.INDEXED_LARGE) return;
+        if (slot - 1 == cellOf(obj)) return;
+        remove(obj);
+        add(obj);
+    }
+
+    public void clear() {
+        for (int cell = 0; cell < cells.length; cell++) {
+            for (int i = 0; i < counts[cell]; i++) {
+                cells[cell][i].setIndexCell(GameObject.NOT_INDEXED);
+                cells[cell][i] = null;
+            }
+            counts[cell] = 0;
+        }
+        for (GameObject obj : large) obj.setIndexCell(GameObject.NOT_INDEXED);
+        large.clear();
+        Arrays.fill(blocked, 0L);
+        Arrays.fill(staticBlocked, 0L);
+        staticVersion = STATIC_CHANGES.incrementAndGet();
+    }
+
+    /**
+     * @return True if a solid object stands on the cell. Cells outside the chunk are not blocked.
+     */
+    public boolean isBlocked(int x, int y) {
+        if (!inBounds(x, y)) return false;
+        int cell = y * size + x;
+        return (blocked[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * @return True if a solid object other than a mob stands on the cell.
+     */
+    public boolean isStaticBlocked(int x, int y) {
+        if (!inBounds(x, y)) return false;
+        int cell = y * size + x;
+        return (staticBlocked[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    /**
+     * @return True if a solid object stands on the cell, multi-tile objects by their anchor tile.
+     */
+    public boolean hasSolidAt(int x, int y) {
+        if (!inBounds(x, y)) return false;
+        int cell = y * size + x;
+        GameObject[] bucket = cells[cell];
+        for (int i = 0; i < counts[cell]; i++) {
+            if (bucket[i].isSolid()) return true;
+        }
+        for (int i = 0; i < large.size(); i++) {
+            GameObject obj = large.get(i);
+            if (obj.getX() == x && obj.getY() == y && obj.isSolid()) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return Number of single-tile objects standing on the cell.
+     */
+    public int countAt(int x, int y) {
+        return inBounds(x, y) ? counts[y * size + x] : 0;
+    }
+
+    /**
+     * @return The i-th single-tile object on the cell, for allocation-free iteration with countAt.
+     */
+    public GameObject getAt(int x, int y, int i) {
+        return cells[y * size + x][i];
+    }
+
+    /**
+     * Visits the single-tile objects standing on one cell.
+     */
+    public void forEachAt(int x, int y, Consumer<? super GameObject> action) {
+        if (!inBounds(x, y)) return;
+        int cell = y * size + x;
+        GameObject[] bucket = cells[cell];
+        for (int i = 0; i < counts[cell]; i++) action.accept(bucket[i]);
+    }
+
+    /**
+     * Visits every object in the inclusive tile rectangle, plus every multi-tile object.
+     * Coordinates outside the chunk are clamped.
+     */
+    public void forEachInRect(int x0, int y0, int x1, int y1, Consumer<? super GameObject> action) {
+        int minX = Math.max(0, Math.min(x0, x1));
+        int maxX = Math.min(size - 1, Math.max(x0, x1));
+        int minY = Math.max(0, Math.min(y0, y1));
+        int maxY = Math.min(size - 1, Math.max(y0, y1));
+        for (int y = minY; y <= maxY; y++) {
+            for (int x = minX; x <= maxX; x++) {
+                int cell = y * size + x;
+                GameObject[] bucket = cells[cell];
+                for (int i = 0; i < counts[cell]; i++) action.accept(bucket[i]);
+            }
+        }
+        for (int i = 0; i < large.size(); i++) action.accept(large.get(i));
+    }
+
+    private void refreshAnchor(GameObject obj) {
+        if (inBounds(obj.getX(), obj.getY())) refreshBlocked(obj.getY() * size + obj.getX());
+    }
+
+    private void refreshBlocked(int cell) {
+        int x = cell % size;
+        int y = cell / size;
+        boolean solid = false;
+        boolean fixed = false;
+        GameObject[] bucket = cells[cell];
+        for (int i = 0; i < counts[cell]; i++) {
+            if (!bucket[i].isSolid()) continue;
+            solid = true;
+            if (!(bucket[i] instanceof Mob)) fixed = true;
+        }
+        for (int i = 0; i < large.size(); i++) {
+            GameObject obj = large.get(i);
+            if (obj.getX() == x && obj.getY() == y && obj.isSolid()) {
+                solid = true;
+                fixed = true;
+            }
+        }
+        if (solid) {
+            blocked[cell >>> 6] |= 1L << cell;
+        } else {
+            blocked[cell >>> 6] &= ~(1L << cell);
+        }
+        setStatic(cell, fixed);
+    }
+
+    private void setStatic(int cell, boolean isBlocked) {
+        long bit = 1L << cell;
+        long word = staticBlocked[cell >>> 6];
+        if (((word & bit) != 0) == isBlocked) return;
+        staticBlocked[cell >>> 6] = isBlocked ? word | bit : word & ~bit;
+        staticVersion = STATIC_CHANGES.incrementAndGet();
+    }
+
+    private boolean inBounds(int x, int y) {
+        return x >= 0 && y >= 0 && x < size && y < size;
+    }
+
+    // Mobs can sit a hair outside their chunk between moves; clamp rather than lose them
+    private int cellOf(GameObject obj) {
+        int x = Math.max(0, Math.min(size - 1, obj.getX()));
+        int y = Math.max(0, Math.min(size - 1, obj.getY()));
+        return y * size + x;
+    }
+}
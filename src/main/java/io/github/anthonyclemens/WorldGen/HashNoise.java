@@ -0,0 +1,117 @@
+package io.github.anthonyclemens.WorldGen;
+
+/**
+ * Gradient noise that hashes lattice coordinates directly instead of going through a
+ * permutation table. There are no table loads, and the lattice never wraps, so unlike
+ * PerlinNoise the pattern does not repeat every 256 cells. Each octave gets its own seed.
+ * Interpolation runs in float; only the split into cell and fraction is done in double,
+ * so precision does not degrade far from the origin.
+ */
+public class HashNoise implements NoiseGenerator {
+    private static final int PRIME_X = 0x27D4EB2D;
+    private static final int PRIME_Y = 0x165667B1;
+    private final int seed;
+
+    public HashNoise(int seed) {
+        this.seed = seed;
+    }
+
+    @Override
+    public double generate(double x, double y) {
+        return sample(x, y, seed);
+    }
+
+    @Override
+    public double generateOctave(double x, double y, int octave) {
+        return sample(x, y, octaveSeed(octave));
+    }
+
+    @Override
+    public void generateGrid(double x0, double y0, double dx, double dy, int w, int h, double[] out) {
+        int[] colCell = new int[w];
+        float[] colFrac = new float[w];
+        float[] colFade = new float[w];
+        for (int i = 0; i < w; i++) {
+            double x = x0 + i * dx;
+            int cell = fastFloor(x);
+            colCell[i] = cell;
+            colFrac[i] = (float) (x - cell);
+            colFade[i] = fade(colFrac[i]);
+        }
+        for (int j = 0; j < h; j++) {
+            double y = y0 + j * dy;
+            int cellY = fastFloor(y);
+            float yf = (float) (y - cellY);
+            float v = fade(yf);
+            int rowHash0 = cellY * PRIME_Y;
+            int rowHash1 = (cellY + 1) * PRIME_Y;
+            int row = j * w;
+            for (int i = 0; i < w; i++) {
+                int cx = colCell[i] * PRIME_X;
+                out[row + i] = corners(cx ^ rowHash0, (cx + PRIME_X) ^ rowHash0,
+                    cx ^ rowHash1, (cx + PRIME_X) ^ rowHash1, colFrac[i], yf, colFade[i], v, seed);
+            }
+        }
+    }
+
+    private static double sample(double x, double y, int seed) {
+        int cellX = fastFloor(x);
+        int cellY = fastFloor(y);
+        float xf = (float) (x - cellX);
+        float yf = (float) (y - cellY);
+        int cx0 = cellX * PRIME_X;
+        int cx1 = cx0 + PRIME_X;
+        int cy0 = cellY * PRIME_Y;
+        int cy1 = cy0 + PRIME_Y;
+        return corners(cx0 ^ cy0, cx1 ^ cy0, cx0 ^ cy1, cx1 ^ cy1, xf, yf, fade(xf), fade(yf), seed);
+    }
+
+    private static float corners(int aa, int ba, int ab, int bb, float xf, float yf, float u, float v, int seed) {
+        float xf1 = xf - 1f;
+        float yf1 = yf - 1f;
+        float gaa = grad(hash(aa, seed), xf, yf);
+        float gba = grad(hash(ba, seed), xf1, yf);
+        float gab = grad(hash(ab, seed), xf, yf1);
+        float gbb = grad(hash(bb, seed), xf1, yf1);
+        float bottom = gaa + u * (gba - gaa);
+        float top = gab + u * (gbb - gab);
+        return bottom + v * (top - bottom);
+    }
+
+    /**
+     * One of the four diagonal gradients, picked by two hash bits without branching.
+     */
+    private static float grad(int hash, float x, float y) {
+        float sx = 1 - ((hash >>> 30) & 2);
+        float sy = 1 - ((hash >>> 29) & 2);
+        return sx * x + sy * y;
+    }
+
+    // Only the top two bits are used, and those are well mixed after a single multiply
+    private static int hash(int lattice, int seed) {
+        return (lattice ^ seed) * 0x9E3779B1;
+    }
+
+    // Murmur3 32-bit finalizer, for deriving octave seeds
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private int octaveSeed(int octave) {
+        return octave == 0 ? seed : mix(seed + octave * 0x9E3779B9);
+    }
+
+    private static int fastFloor(double v) {
+        int i = (int) v;
+        return v < i ? i - 1 : i;
+    }
+
+    private static float fade(float t) {
+        return t * t * t * (t * (t * 6 - 15) + 10);
+    }
+}
@@ -0,0 +1,134 @@
+package io.github.anthonyclemens.WorldGen;
+
+/**
+ * Builds a chunk's LOD pyramid: LOD1 holds the most common tile of each 2x2 block, LOD2 of
+ * each 8x8 block. Both levels are built block by block in one walk over the chunk, counting
+ * into a reused int[256] histogram rather than boxing into maps. Ties go to the lowest tile ID.
+ */
+public final class LodBuilder {
+    public static final int LOD1_SCALE = 2;
+    public static final int LOD2_SCALE = 8;
+
+    // Chunks are generated on several worker threads at once
+    private static final ThreadLocal<int[]> HISTOGRAM = ThreadLocal.withInitial(() -> new int[256]);
+
+    private LodBuilder() {}
+
+    /**
+     * Fills both LOD levels from the tiles.
+     * @param tiles Source tiles.
+     * @param lod1  Receives (size/2)^2 cells, row-major.
+     * @param lod2  Receives (size/8)^2 cells, row-major.
+     */
+    public static void build(TileBuffer tiles, byte[] lod1, byte[] lod2) {
+        int size = tiles.getSize();
+        int lod1Size = size / LOD1_SCALE;
+        int lod2Size = size / LOD2_SCALE;
+        int[] histogram = HISTOGRAM.get();
+        int blocksPerLod2 = LOD2_SCALE / LOD1_SCALE;
+
+        // Walk LOD2 blocks; each one's 2x2 blocks give LOD1 cells while feeding its histogram
+        for (int by = 0; by < lod2Size; by++) {
+            for (int bx = 0; bx < lod2Size; bx++) {
+                for (int cy = by * blocksPerLod2; cy < (by + 1) * blocksPerLod2; cy++) {
+                    for (int cx = bx * blocksPerLod2; cx < (bx + 1) * blocksPerLod2; cx++) {
+                        lod1[cy * lod1Size + cx] = (byte) lod1Cell(tiles, cx, cy, histogram);
+                    }
+                }
+                lod2[by * lod2Size + bx] = (byte) takeMode(histogram,
+                    tiles, bx * LOD2_SCALE, by * LOD2_SCALE, LOD2_SCALE);
+            }
+        }
+        // LOD1 cells past the last whole LOD2 block, when the size is not a multiple of 8
+        int covered = lod2Size * blocksPerLod2;
+        for (int cy = 0; cy < lod1Size; cy++) {
+            for (int cx = 0; cx < lod1Size; cx++) {
+                if (cx < covered && cy < covered) continue;
+                lod1[cy * lod1Size + cx] = (byte) modeOfFour(tiles, cx, cy);
+            }
+        }
+    }
+
+    /**
+     * Recomputes only the LOD cells above one tile, after that tile changed.
+     */
+    public static void update(TileBuffer tiles, byte[] lod1, byte[] lod2, int x, int y) {
+        int size = tiles.getSize();
+        int lod1Size = size / LOD1_SCALE;
+        int cx = x / LOD1_SCALE;
+        int cy = y / LOD1_SCALE;
+        if (cx < lod1Size && cy < lod1Size) {
+            lod1[cy * lod1Size + cx] = (byte) modeOfFour(tiles, cx, cy);
+        }
+        int lod2Size = size / LOD2_SCALE;
+        int bx = x / LOD2_SCALE;
+        int by = y / LOD2_SCALE;
+        if (bx < lod2Size && by < lod2Size) {
+            int[] histogram = HISTOGRAM.get();
+            int x0 = bx * LOD2_SCALE;
+            int y0 = by * LOD2_SCALE;
+            for (int ty = y0; ty < y0 + LOD2_SCALE; ty++) {
+                for (int tx = x0; tx < x0 + LOD2_SCALE; tx++) histogram[tiles.get(tx, ty)]++;
+            }
+            lod2[by * lod2Size + bx] = (byte) takeMode(histogram, tiles, x0, y0, LOD2_SCALE);
+        }
+    }
+
+    private static int lod1Cell(TileBuffer tiles, int cx, int cy, int[] histogram) {
+        int x = cx * LOD1_SCALE;
+        int y = cy * LOD1_SCALE;
+        int a = tiles.get(x, y);
+        int b = tiles.get(x + 1, y);
+        int c = tiles.get(x, y + 1);
+        int d = tiles.get(x + 1, y + 1);
+        histogram[a]++;
+        histogram[b]++;
+        histogram[c]++;
+        histogram[d]++;
+        return modeOfFour(a, b, c, d);
+    }
+
+    private static int modeOfFour(TileBuffer tiles, int cx, int cy) {
+        int x = cx * LOD1_SCALE;
+        int y = cy * LOD1_SCALE;
+        return modeOfFour(tiles.get(x, y), tiles.get(x + 1, y), tiles.get(x, y + 1), tiles.get(x + 1, y + 1));
+    }
+
+    /**
+     * Most common of four values, lowest value on ties, using only comparisons.
+     */
+    static int modeOfFour(int a, int b, int c, int d) {
+        int ca = 1 + (a == b ? 1 : 0) + (a == c ? 1 : 0) + (a == d ? 1 : 0);
+        int cb = 1 + (b == a ? 1 : 0) + (b == c ? 1 : 0) + (b == d ? 1 : 0);
+        int cc = 1 + (c == a ? 1 : 0) + (c == b ? 1 : 0) + (c == d ? 1 : 0);
+        int cd = 1 + (d == a ? 1 : 0) + (d == b ? 1 : 0) + (d == c ? 1 : 0);
+        int best = a;
+        int bestCount = ca;
+        if (cb > bestCount || (cb == bestCount && b < best)) { best = b; bestCount = cb; }
+        if (cc > bestCount || (cc == bestCount && c < best)) { best = c; bestCount = cc; }
+        if (cd > bestCount || (cd == bestCount && d < best)) { best = d; }
+        return best;
+    }
+
+    /**
+     * Reads the mode out of a histogram filled from one square block, clearing only the
+     * entries that block touched so the histogram is ready for reuse.
+     */
+    private static int takeMode(int[] histogram, TileBuffer tiles, int x0, int y0, int side) {
+        int best = 0;
+        int bestCount = 0;
+        for (int ty = y0; ty < y0 + side; ty++) {
+            for (int tx = x0; tx < x0 + side; tx++) {
+                int id = tiles.get(tx, ty);
+                int count = histogram[id];
+                if (count == 0) continue;
+                if (count > bestCount || (count == bestCount && id < best)) {
+                    best = id;
+                    bestCount = count;
+                }
+                histogram[id] = 0;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.anthonyclemens.WorldGen;
+
+/**
+ * How a mob gets around, and so which tiles it may enter and what each costs to cross.
+ * Costs are in path steps; TileGrid.BLOCKED means the tile cannot be entered at all.
+ */
+public enum MovementClass {
+    /** Walks on any ground and wades through water at a higher cost. */
+    LAND(1, 3),
+    /** Swims; only water can be entered. */
+    WATER(TileGrid.BLOCKED, 1);
+
+    private final int groundCost;
+    private final int waterCost;
+
+    MovementClass(int groundCost, int waterCost) {
+        this.groundCost = groundCost;
+        this.waterCost = waterCost;
+    }
+
+    /**
+     * @return Cost of stepping onto a tile with this ID, ignoring objects on it.
+     */
+    public int costOf(int tile) {
+        return isWaterTile(tile) ? waterCost : groundCost;
+    }
+
+    /**
+     * @return True for the water tiles Chunk places in water biomes.
+     */
+    public static boolean isWaterTile(int tile) {
+        return tile == 23 || tile == 24;
+    }
+}
@@ -0,0 +1,35 @@
+package io.github.anthonyclemens.WorldGen;
+
+/**
+ * Per-tile step costs of one chunk for every movement class, derived from its tile IDs.
+ * Kept beside the chunk's object index so a path search reads one byte and one bit per tile.
+ */
+final class NavigationLayers {
+    private final int size;
+    // [movement class][row-major cell]
+    private final byte[][] costs;
+
+    NavigationLayers(TileBuffer tiles) {
+        this.size = tiles.getSize();
+        MovementClass[] classes = MovementClass.values();
+        this.costs = new byte[classes.length][size * size];
+        for (int cell = 0; cell < size * size; cell++) {
+            int tile = tiles.get(cell);
+            for (MovementClass mc : classes) costs[mc.ordinal()][cell] = (byte) mc.costOf(tile);
+        }
+    }
+
+    /**
+     * @return Cost of stepping onto the tile, or TileGrid.BLOCKED if the class cannot enter it.
+     */
+    int costAt(MovementClass mc, int x, int y) {
+        return costs[mc.ordinal()][y * size + x];
+    }
+
+    /**
+     * Refreshes one tile after its ID changed.
+     */
+    void update(int x, int y, int tile) {
+        for (MovementClass mc : MovementClass.values()) costs[mc.ordinal()][y * size + x] = (byte) mc.costOf(tile);
+    }
+}
@@ -0,0 +1,57 @@
+package io.github.anthonyclemens.WorldGen;
+
+/**
+ * A seeded 2D coherent noise source returning values roughly in -1..1.
+ */
+public interface NoiseGenerator {
+    // Shifts each octave onto an unrelated part of the lattice for generators without per-octave seeds
+    double OCTAVE_OFFSET = 71.37;
+
+    /**
+     * Samples the noise at a point.
+     */
+    double generate(double x, double y);
+
+    /**
+     * Samples the noise over a regular grid, row by row:
+     * out[j * w + i] = generate(x0 + i * dx, y0 + j * dy).
+     */
+    default void generateGrid(double x0, double y0, double dx, double dy, int w, int h, double[] out) {
+        for (int j = 0; j < h; j++) {
+            double y = y0 + j * dy;
+            for (int i = 0; i < w; i++) {
+                out[j * w + i] = generate(x0 + i * dx, y);
+            }
+        }
+    }
+
+    /**
+     * Samples a single octave of fractal noise. Implementations with a cheap way to reseed
+     * should override this so octaves are fully decorrelated.
+     * @param octave Octave number, 0 for the base octave.
+     */
+    default double generateOctave(double x, double y, int octave) {
+        return generate(x + octave * OCTAVE_OFFSET, y + octave * OCTAVE_OFFSET);
+    }
+
+    /**
+     * Fractal Brownian motion: sums octaves of increasing frequency and decreasing amplitude.
+     * @param octaves    Number of octaves, at least 1.
+     * @param lacunarity Frequency multiplier between octaves, typically 2.
+     * @param gain       Amplitude multiplier between octaves, typically 0.5.
+     * @return The sum, scaled back into roughly -1..1.
+     */
+    default double fbm(double x, double y, int octaves, double lacunarity, double gain) {
+        double sum = 0;
+        double amplitude = 1;
+        double frequency = 1;
+        double norm = 0;
+        for (int octave = 0; octave < octaves; octave++) {
+            sum += amplitude * generateOctave(x * frequency, y * frequency, octave);
+            norm += amplitude;
+            amplitude *= gain;
+            frequency *= lacunarity;
+        }
+        return sum / norm;
+    }
+}
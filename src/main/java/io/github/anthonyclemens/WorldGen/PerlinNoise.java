@@ -2,9 +2,16 @@ package io.github.anthonyclemens.WorldGen;
 
 import java.util.Random;
 
-public class PerlinNoise {
+/**
+ * Classic 2D Perlin noise over a seeded 256-entry permutation table.
+ * The lattice wraps every 256 cells; see {@link HashNoise} for a table-free alternative.
+ */
+public class PerlinNoise implements NoiseGenerator {
     private static final int PERMUTATION_SIZE = 256; // Size of the permutation array
     private final int[] permutation = new int[PERMUTATION_SIZE * 2]; // Double the size to avoid wrapping
+    // grad() as sign tables: hash 0 is x+y, 1 and 2 are -x+y, 3 is -x-y
+    private static final double[] GRAD_X = {1, -1, -1, -1};
+    private static final double[] GRAD_Y = {1, 1, 1, -1};
 
     public PerlinNoise(int seed) {
         Random random = new Random(seed);
@@ -30,6 +37,7 @@ public class PerlinNoise {
         }
     }
 
+    @Override
     public double generate(double x, double y) {
         int x0 = (int) Math.floor(x) & 255;
         int y0 = (int) Math.floor(y) & 255;
@@ -51,6 +59,58 @@ public class PerlinNoise {
         );
     }
 
+    /**
+     * Evaluates the noise over a regular grid, filling out row by row:
+     * out[j * w + i] = generate(x0 + i * dx, y0 + j * dy).
+     * Lattice cells, fractions and fade weights are computed once per column and once per row
+     * instead of once per sample, and the inner loop is branch free.
+     * @param out Receives w * h samples; must be at least that long.
+     */
+    @Override
+    public void generateGrid(double x0, double y0, double dx, double dy, int w, int h, double[] out) {
+        int[] colHashLo = new int[w];
+        int[] colHashHi = new int[w];
+        double[] colFrac = new double[w];
+        double[] colFade = new double[w];
+        for (int i = 0; i < w; i++) {
+            double x = x0 + i * dx;
+            double fx = Math.floor(x);
+            int cell = (int) fx & 255;
+            colHashLo[i] = permutation[cell];
+            colHashHi[i] = permutation[cell + 1];
+            colFrac[i] = x - fx;
+            colFade[i] = fade(x - fx);
+        }
+
+        for (int j = 0; j < h; j++) {
+            double y = y0 + j * dy;
+            double fy = Math.floor(y);
+            int cellY = (int) fy & 255;
+            double yf = y - fy;
+            double yf1 = yf - 1;
+            double v = fade(yf);
+            int row = j * w;
+            for (int i = 0; i < w; i++) {
+                double xf = colFrac[i];
+                double xf1 = xf - 1;
+                double u = colFade[i];
+                int lo = colHashLo[i] + cellY;
+                int hi = colHashHi[i] + cellY;
+                int aa = permutation[lo] & 3;
+                int ab = permutation[lo + 1] & 3;
+                int ba = permutation[hi] & 3;
+                int bb = permutation[hi + 1] & 3;
+                double gaa = GRAD_X[aa] * xf + GRAD_Y[aa] * yf;
+                double gba = GRAD_X[ba] * xf1 + GRAD_Y[ba] * yf;
+                double gab = GRAD_X[ab] * xf + GRAD_Y[ab] * yf1;
+                double gbb = GRAD_X[bb] * xf1 + GRAD_Y[bb] * yf1;
+                double bottom = gaa + u * (gba - gaa);
+                double top = gab + u * (gbb - gab);
+                out[row + i] = bottom + v * (top - bottom);
+            }
+        }
+    }
+
     private double fade(double t) {
         return t * t * t * (t * (t * 6 - 15) + 10);
     }
@@ -0,0 +1,171 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import io.github.anthonyclemens.GameObjects.GameObject;
+import io.github.anthonyclemens.GameObjects.Mobs.Mob;
+import io.github.anthonyclemens.Rendering.IsoRenderer;
+import io.github.anthonyclemens.utils.ConcurrentLongMap;
+
+/**
+ * Keeps the mob population in check. Once every SPAWN_INTERVAL_MS it counts hostile and passive
+ * mobs per chunk and per region, despawns hostile mobs in chunks that are both far from the
+ * player and off screen, and at night spends a fixed budget of spawn attempts on random chunks under the caps.
+ * Spawning therefore no longer depends on the frame rate or on how many chunks are simulated.
+ * Only called from the thread updating the chunks, after the chunk updates.
+ */
+public class PopulationManager {
+    public static final int SPAWN_INTERVAL_MS = 1_000;
+    // Regions are REGION_CHUNKS x REGION_CHUNKS chunks
+    public static final int REGION_CHUNKS = 8;
+    public static final int DEFAULT_SPAWN_BUDGET = 2;
+    public static final int DEFAULT_HOSTILE_CAP = 48;
+    public static final int DEFAULT_CHUNK_HOSTILE_CAP = 3;
+    public static final int DEFAULT_DESPAWN_DISTANCE = 4;
+    // Chance per interval that an unseen hostile despawns, so crowds thin out instead of vanishing at once
+    private static final float DESPAWN_CHANCE = 0.25f;
+
+    private final Random rand;
+    private int spawnBudget = DEFAULT_SPAWN_BUDGET;
+    private int hostileCap = DEFAULT_HOSTILE_CAP;
+    private int chunkHostileCap = DEFAULT_CHUNK_HOSTILE_CAP;
+    private int despawnDistance = DEFAULT_DESPAWN_DISTANCE;
+    private int sinceLastTick = 0;
+    // Chunk key -> hostile count; region key -> {hostile, passive}
+    private final ConcurrentLongMap<int[]> chunkHostiles = new ConcurrentLongMap<>();
+    private final ConcurrentLongMap<int[]> regionCounts = new ConcurrentLongMap<>();
+    private int hostileCount = 0;
+    private int passiveCount = 0;
+    private long spawnedCount = 0;
+    private long despawnedCount = 0;
+    private final List<Chunk> candidates = new ArrayList<>();
+
+    public PopulationManager(long seed) {
+        this.rand = new Random(seed);
+    }
+
+    /**
+     * @param spawnBudget     Spawn attempts per interval at night.
+     * @param hostileCap      Most hostile mobs across the simulated chunks.
+     * @param chunkHostileCap Most hostile mobs a chunk gets spawns up to.
+     * @param despawnDistance Chebyshev distance in chunks past which none spawn, and hostile mobs
+     *                        despawn unless their chunk is on screen.
+     */
+    public void setBudget(int spawnBudget, int hostileCap, int chunkHostileCap, int despawnDistance) {
+        this.spawnBudget = Math.max(0, spawnBudget);
+        this.hostileCap = Math.max(0, hostileCap);
+        this.chunkHostileCap = Math.max(0, chunkHostileCap);
+        this.despawnDistance = Math.max(1, despawnDistance);
+    }
+
+    /**
+     * Advances the spawn clock and, once an interval has passed, recounts, despawns and spawns.
+     * @param window      The simulated chunks.
+     * @param playerChunk Chunk the player stands in; nothing spawns there.
+     */
+    public void update(IsoRenderer r, int deltaTime, ChunkWindow window, Chunk playerChunk, int playerChunkX, int playerChunkY) {
+        sinceLastTick += deltaTime;
+        if (sinceLastTick < SPAWN_INTERVAL_MS) return;
+        // After a long stall run one interval, not a burst of them
+        sinceLastTick = Math.min(sinceLastTick - SPAWN_INTERVAL_MS, SPAWN_INTERVAL_MS);
+
+        resetCounts();
+        candidates.clear();
+        window.forEach(chunk -> {
+            int distance = Math.max(Math.abs(chunk.getChunkX() - playerChunkX), Math.abs(chunk.getChunkY() - playerChunkY));
+            if (distance <= despawnDistance && chunk != playerChunk) candidates.add(chunk);
+            census(chunk, distance > despawnDistance && !r.isChunkVisible(chunk.getChunkX(), chunk.getChunkY()));
+        });
+        if (!r.isSunUp()) spawn(r);
+    }
+
+    private void census(Chunk chunk, boolean unseen) {
+        for (GameObject obj : new ArrayList<>(chunk.getGameObjects())) {
+            if (!(obj instanceof Mob mob) || mob.getHealth() == 0) continue;
+            if (mob.isHostile() && unseen && rand.nextFloat() < DESPAWN_CHANCE) {
+                chunk.removeGameObject(mob);
+                mob.despawn();
+                despawnedCount++;
+                continue;
+            }
+            record(chunk.getChunkX(), chunk.getChunkY(), mob.isHostile());
+        }
+    }
+
+    private void spawn(IsoRenderer r) {
+        if (candidates.isEmpty()) return;
+        for (int i = 0; i < spawnBudget && hostileCount < hostileCap; i++) {
+            Chunk chunk = candidates.get(rand.nextInt(candidates.size()));
+            int chunkX = chunk.getChunkX();
+            int chunkY = chunk.getChunkY();
+            if (!canSpawnHostile(chunkX, chunkY)) continue;
+            GameObject enemy = GameObjectGenerator.generateEnemyForBiome(rand, chunk.getBiome(), chunkX, chunkY);
+            if (enemy == null) continue;
+            enemy.initializeRenderPosition(r);
+            chunk.addGameObject(enemy);
+            record(chunkX, chunkY, true);
+            spawnedCount++;
+        }
+    }
+
+    /**
+     * Counts one living mob towards its chunk, its region and the totals.
+     */
+    void record(int chunkX, int chunkY, boolean hostile) {
+        int[] region = regionCounts.computeIfAbsent(
+            ConcurrentLongMap.pack(Math.floorDiv(chunkX, REGION_CHUNKS), Math.floorDiv(chunkY, REGION_CHUNKS)), k -> new int[2]);
+        if (hostile) {
+            chunkHostiles.computeIfAbsent(ConcurrentLongMap.pack(chunkX, chunkY), k -> new int[1])[0]++;
+            region[0]++;
+            hostileCount++;
+        } else {
+            region[1]++;
+            passiveCount++;
+        }
+    }
+
+    void resetCounts() {
+        chunkHostiles.clear();
+        regionCounts.clear();
+        hostileCount = 0;
+        passiveCount = 0;
+    }
+
+    /**
+     * @return True if neither the global nor the chunk's hostile cap has been reached.
+     */
+    public boolean canSpawnHostile(int chunkX, int chunkY) {
+        return hostileCount < hostileCap && getChunkHostileCount(chunkX, chunkY) < chunkHostileCap;
+    }
+
+    public int getChunkHostileCount(int chunkX, int chunkY) {
+        int[] count = chunkHostiles.get(ConcurrentLongMap.pack(chunkX, chunkY));
+        return count == null ? 0 : count[0];
+    }
+
+    /**
+     * @return Mobs counted in the region holding this chunk at the last census.
+     */
+    public int getRegionCount(int chunkX, int chunkY, boolean hostile) {
+        int[] region = regionCounts.get(ConcurrentLongMap.pack(Math.floorDiv(chunkX, REGION_CHUNKS), Math.floorDiv(chunkY, REGION_CHUNKS)));
+        return region == null ? 0 : region[hostile ? 0 : 1];
+    }
+
+    public int getHostileCount() {
+        return hostileCount;
+    }
+
+    public int getPassiveCount() {
+        return passiveCount;
+    }
+
+    public long getSpawnedCount() {
+        return spawnedCount;
+    }
+
+    public long getDespawnedCount() {
+        return despawnedCount;
+    }
+}
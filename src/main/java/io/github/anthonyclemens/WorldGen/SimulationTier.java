@@ -0,0 +1,13 @@
+package io.github.anthonyclemens.WorldGen;
+
+/**
+ * How much simulation a loaded chunk gets, by its distance from the player's chunk.
+ */
+public enum SimulationTier {
+    /** Every object updated every frame. */
+    NEAR,
+    /** Every object updated every few frames, with the time in between added to the delta. */
+    MID,
+    /** Only bookkeeping: dead objects and expired items are cleared, nothing moves or spawns. */
+    FAR
+}
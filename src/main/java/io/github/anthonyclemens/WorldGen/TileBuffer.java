@@ -0,0 +1,219 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.io.Serializable;
+
+/**
+ * Square grid of tile IDs (0-255) in one contiguous, row-major buffer (index = y * size + x).
+ * After generation a buffer can be compacted into a palette plus bit-packed indices when it
+ * only uses a few distinct IDs, which is the common case since most biomes use 1-5 tiles.
+ * Writes that introduce a new ID grow the palette, falling back to raw bytes past 16 IDs.
+ */
+public class TileBuffer implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final int RAW_BITS = 8;
+    private static final int MAX_PALETTE = 16;
+
+    private final int size;
+    // Bits per packed index: 0 (single ID), 1, 2 or 4; RAW_BITS when storing plain bytes
+    private int bits = RAW_BITS;
+    private byte[] raw;
+    private byte[] palette;
+    private int paletteSize;
+    private long[] words;
+    // Derived from bits, cached so reads are a shift, a mask and a palette lookup
+    private transient int wordShift;
+    private transient int offsetShift;
+    private transient int indexMask;
+    private transient int slotMask;
+
+    /**
+     * Creates an all-zero buffer in raw form.
+     * @param size Width and height in tiles.
+     */
+    public TileBuffer(int size) {
+        this.size = size;
+        this.raw = new byte[size * size];
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the tile ID at (x, y).
+     */
+    public int get(int x, int y) {
+        return get(y * size + x);
+    }
+
+    /**
+     * Gets the tile ID at a row-major index.
+     */
+    public int get(int index) {
+        if (bits == RAW_BITS) return raw[index] & 0xFF;
+        if (bits == 0) return palette[0] & 0xFF;
+        if (slotMask == 0) updateShifts();
+        int slot = (int) (words[index >>> wordShift] >>> ((index & indexMask) << offsetShift)) & slotMask;
+        return palette[slot] & 0xFF;
+    }
+
+    /**
+     * Sets the tile ID at (x, y).
+     */
+    public void set(int x, int y, int tile) {
+        set(y * size + x, tile);
+    }
+
+    /**
+     * Sets the tile ID at a row-major index, widening the encoding if the ID is new.
+     */
+    public void set(int index, int tile) {
+        if (bits == RAW_BITS) {
+            raw[index] = (byte) tile;
+            return;
+        }
+        int slot = paletteIndex(tile);
+        if (slot < 0) {
+            if (paletteSize == MAX_PALETTE) {
+                expand();
+                raw[index] = (byte) tile;
+                return;
+            }
+            slot = paletteSize;
+            palette[paletteSize++] = (byte) tile;
+            int needed = bitsFor(paletteSize);
+            if (needed != bits) repack(needed);
+        }
+        if (bits == 0) return;
+        int w = index >>> wordShift(bits);
+        int shift = bitOffset(bits, index);
+        long mask = ((1L << bits) - 1) << shift;
+        words[w] = (words[w] & ~mask) | ((long) slot << shift);
+    }
+
+    /**
+     * Switches to palette encoding if the buffer uses at most 16 distinct IDs.
+     * @return True if the buffer is now palette encoded.
+     */
+    public boolean compact() {
+        if (bits != RAW_BITS) return true;
+        byte[] found = new byte[MAX_PALETTE];
+        int count = 0;
+        boolean[] seen = new boolean[256];
+        for (byte b : raw) {
+            int id = b & 0xFF;
+            if (seen[id]) continue;
+            if (count == MAX_PALETTE) return false;
+            seen[id] = true;
+            found[count++] = b;
+        }
+        byte[] source = raw;
+        palette = found;
+        paletteSize = count;
+        bits = bitsFor(count);
+        updateShifts();
+        words = bits == 0 ? null : new long[wordCount(bits)];
+        raw = null;
+        if (bits == 0) return true;
+        for (int i = 0; i < source.length; i++) {
+            long slot = paletteIndex(source[i] & 0xFF);
+            words[i >>> wordShift(bits)] |= slot << bitOffset(bits, i);
+        }
+        return true;
+    }
+
+    /**
+     * Copies the tiles out as a raw row-major array.
+     */
+    public byte[] toArray() {
+        if (bits == RAW_BITS) return raw.clone();
+        byte[] out = new byte[size * size];
+        for (int i = 0; i < out.length; i++) out[i] = (byte) get(i);
+        return out;
+    }
+
+    public boolean isPaletted() {
+        return bits != RAW_BITS;
+    }
+
+    /**
+     * @return Bits used per tile: 8 for raw storage, otherwise the packed index width.
+     */
+    public int getBitsPerTile() {
+        return bits;
+    }
+
+    /**
+     * @return Approximate heap used by the tile data, array headers included.
+     */
+    public long estimateBytes() {
+        if (bits == RAW_BITS) return 16L + raw.length;
+        return 32L + (words == null ? 0 : 16L + words.length * 8L);
+    }
+
+    private int paletteIndex(int tile) {
+        for (int i = 0; i < paletteSize; i++) {
+            if ((palette[i] & 0xFF) == tile) return i;
+        }
+        return -1;
+    }
+
+    private void repack(int newBits) {
+        int total = size * size;
+        int[] slots = new int[total];
+        if (bits != 0) {
+            for (int i = 0; i < total; i++) slots[i] = slotAt(words, bits, i);
+        }
+        long[] grown = new long[wordCount(newBits)];
+        for (int i = 0; i < total; i++) {
+            grown[i >>> wordShift(newBits)] |= (long) slots[i] << bitOffset(newBits, i);
+        }
+        words = grown;
+        bits = newBits;
+        updateShifts();
+    }
+
+    private void expand() {
+        raw = toArray();
+        bits = RAW_BITS;
+        palette = null;
+        paletteSize = 0;
+        words = null;
+    }
+
+    private void updateShifts() {
+        if (bits == 0 || bits == RAW_BITS) {
+            slotMask = 0;
+            return;
+        }
+        offsetShift = Integer.numberOfTrailingZeros(bits);
+        wordShift = wordShift(bits);
+        indexMask = (64 / bits) - 1;
+        slotMask = (1 << bits) - 1;
+    }
+
+    private int wordCount(int bitsPerTile) {
+        int perWord = 64 / bitsPerTile;
+        return (size * size + perWord - 1) / perWord;
+    }
+
+    private static int slotAt(long[] words, int bits, int index) {
+        return (int) (words[index >>> wordShift(bits)] >>> bitOffset(bits, index)) & ((1 << bits) - 1);
+    }
+
+    // bits is 1, 2 or 4, so a word holds 64, 32 or 16 indices and all of this is shifts and masks
+    private static int wordShift(int bits) {
+        return 6 - Integer.numberOfTrailingZeros(bits);
+    }
+
+    private static int bitOffset(int bits, int index) {
+        return (index & ((64 / bits) - 1)) * bits;
+    }
+
+    private static int bitsFor(int paletteEntries) {
+        if (paletteEntries <= 1) return 0;
+        if (paletteEntries <= 2) return 1;
+        if (paletteEntries <= 4) return 2;
+        return 4;
+    }
+}
@@ -0,0 +1,26 @@
+package io.github.anthonyclemens.WorldGen;
+
+/**
+ * Anything path searches can ask whether an absolute tile is blocked, and what it costs to enter.
+ * World is the real implementation; tests and tools can supply their own.
+ */
+@FunctionalInterface
+public interface TileGrid {
+    /** Step cost of a tile nothing can enter. */
+    int BLOCKED = 0;
+
+    /**
+     * @param absX Absolute tile X coordinate.
+     * @param absY Absolute tile Y coordinate.
+     * @return True if nothing can walk onto the tile.
+     */
+    boolean isBlocked(int absX, int absY);
+
+    /**
+     * Searches call this once per tile instead of isBlocked, so layers with costs answer both at once.
+     * @return Cost of stepping onto the tile, at least 1, or BLOCKED.
+     */
+    default int stepCost(int absX, int absY) {
+        return isBlocked(absX, absY) ? BLOCKED : 1;
+    }
+}
@@ -1,48 +1,99 @@
 package io.github.anthonyclemens.WorldGen;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
-import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
 
 import org.newdawn.slick.util.Log;
 
 import io.github.anthonyclemens.GameObjects.GameObject;
+import io.github.anthonyclemens.GameObjects.Mobs.FlowField;
+import io.github.anthonyclemens.GameObjects.Mobs.Mob;
+import io.github.anthonyclemens.GameObjects.Mobs.PathService;
+import io.github.anthonyclemens.GameObjects.Mobs.PortalGraph;
+import io.github.anthonyclemens.GameObjects.Mobs.ThinkScheduler;
+import io.github.anthonyclemens.utils.ConcurrentLongMap;
 
 /**
  * Manages world chunks, their generation, and biome assignment.
  * Handles chunk caching and provides utilities for chunk/block lookup.
  */
-public class World{
+public class World implements TileGrid {
     public static final int CHUNK_SIZE = 24;
-    private final Map<String, Chunk> chunks = new ConcurrentHashMap<>();
+    private final ConcurrentLongMap<Chunk> chunks = new ConcurrentLongMap<>();
+    private volatile ChunkWindow window;
+    private final ChunkGenerationService generationService = new ChunkGenerationService(this::generateChunk, this::storeGenerated);
     private final int seed;
-    private PerlinNoise elevationGen;
-    private PerlinNoise moistureGen;
-    private PerlinNoise temperatureGen;
-    // Biome generation tuning parameters
-    private static final double ELEVATION_FREQ = 0.010;
-    private static final double MOISTURE_FREQ = 0.028;
-    private static final double TEMPERATURE_FREQ = 0.020;
-    private static final double WATER_THRESHOLD = 0.3;
-    private static final double BEACH_MIN_ELEV = WATER_THRESHOLD;
-    private static final double BEACH_MAX_ELEV = 0.4;
-    private static final int[][] NEIGHBOR_OFFSETS = {
-        {-2, 0}, {2, 0}, {0, -2}, {0, 2},
-        {-1, -1}, {-1, 1}, {1, -1}, {1, 1},
-        {-1, 0}, {1, 0}, {0, -1}, {0, 1}
-    };
+    private boolean discardCleanChunks = false;
+    private long discardedChunks = 0;
+    // Residency budget; 0 disables a limit
+    private int maxResidentChunks = 0;
+    private long maxResidentBytes = 0;
+    // Simulation tiers, in chunks from the player; see SimulationTier
+    private int simNearRadius = 2;
+    private int simMidRadius = 5;
+    private int simMidInterval = 4;
+    private ChunkStore chunkStore;
+    private boolean packTiles = false;
+    private long tick = 0;
+    private long evictedChunks = 0;
+    private final AtomicLong reloadedChunks = new AtomicLong();
+    // Last chunk isBlocked resolved; dropped whenever chunks are unloaded so it never goes stale
+    private volatile Chunk lastBlockedChunk;
+    private final FlowField playerFlowField = new FlowField();
+    // Per movement class: the full layer, the layer ignoring mobs, and the portal graph over the latter
+    private final EnumMap<MovementClass, TileGrid> navigationGrids = new EnumMap<>(MovementClass.class);
+    private final EnumMap<MovementClass, TileGrid> staticNavigationGrids = new EnumMap<>(MovementClass.class);
+    private final EnumMap<MovementClass, PortalGraph> portalGraphs = new EnumMap<>(MovementClass.class);
+    private final ThinkScheduler<Mob> thinkScheduler = new ThinkScheduler<>();
+    private final PopulationManager population;
+    private final PathService pathService = new PathService((mc, sx, sy, gx, gy, out) ->
+        getPortalGraph(mc).findPath(getNavigationGrid(mc), sx, sy, gx, gy, out));
+    private final IntFunction<NoiseGenerator> noiseFactory;
+    private NoiseGenerator elevationGen;
+    private NoiseGenerator moistureGen;
+    private NoiseGenerator temperatureGen;
+    private BiomeCache biomeCache;
+    // Prefetch tuning: how many rings past the window, and how wide a cone ahead of the player
+    private static final int PREFETCH_DEPTH = 2;
+    private static final float PREFETCH_CONE_COS = 0.5f;
+    private static final float PREFETCH_MIN_SPEED = 0.5f;
 
     /**
      * Constructs a ChunkManager with the given world seed.
      * @param seed The world seed.
      */
     public World(int seed) {
+        this(seed, PerlinNoise::new);
+    }
+
+    /**
+     * Constructs a World whose climate fields come from the given noise implementation.
+     * @param seed         The world seed.
+     * @param noiseFactory Creates a noise generator for a seed, e.g. PerlinNoise::new or HashNoise::new.
+     */
+    public World(int seed, IntFunction<NoiseGenerator> noiseFactory) {
         this.seed = seed;
-        this.elevationGen = new PerlinNoise(seed);
-        this.moistureGen = new PerlinNoise(seed + 1123);
-        this.temperatureGen = new PerlinNoise(seed + 56424);
+        this.noiseFactory = noiseFactory;
+        this.elevationGen = noiseFactory.apply(seed);
+        this.moistureGen = noiseFactory.apply(seed + 1123);
+        this.temperatureGen = noiseFactory.apply(seed + 56424);
+        this.biomeCache = new BiomeCache(elevationGen, moistureGen, temperatureGen);
+        this.population = new PopulationManager(seed);
+        for (MovementClass mc : MovementClass.values()) {
+            navigationGrids.put(mc, new LayerGrid(mc, false));
+            TileGrid staticGrid = new LayerGrid(mc, true);
+            staticNavigationGrids.put(mc, staticGrid);
+            portalGraphs.put(mc, new PortalGraph(staticGrid, this::getStaticVersion, CHUNK_SIZE));
+        }
         Log.debug("ChunkManager initialized for infinite world generation with seed: " + seed);
     }
 
@@ -53,67 +104,372 @@ public class World{
      * @return The Biome for the chunk.
      */
     public Biome getBiomeForChunk(int chunkX, int chunkY) {
+        return biomeCache.getBiome(chunkX, chunkY);
+    }
+
+    /**
+     * @return The region climate cache backing {@link #getBiomeForChunk}.
+     */
+    public BiomeCache getBiomeCache() {
+        return biomeCache;
+    }
+
+    private void createPerlin(){
+        this.elevationGen = noiseFactory.apply(seed);
+        this.moistureGen = noiseFactory.apply(seed + 1000);
+        this.temperatureGen = noiseFactory.apply(seed + 5000);
+        this.biomeCache = new BiomeCache(elevationGen, moistureGen, temperatureGen);
+    }
 
-        double x = chunkX * ELEVATION_FREQ;
-        double y = chunkY * ELEVATION_FREQ;
+    /**
+     * Gets a chunk, blocking until the generation service has loaded or generated it.
+     * Never generates on the calling thread. Meant for tools and tests; the game loop
+     * uses {@link #getChunkIfReady} or {@link #peekChunk} and never waits on a chunk.
+     * @param chunkX Chunk X coordinate.
+     * @param chunkY Chunk Y coordinate.
+     * @return The Chunk instance, or null if generating it failed.
+     * @throws Error If the generator failed with one, e.g. a native library that cannot be loaded.
+     */
+    public Chunk getChunk(int chunkX, int chunkY) {
+        Chunk chunk = peekChunk(chunkX, chunkY);
+        if (chunk != null) return chunk;
+        CompletableFuture<Chunk> future;
+        // Null while the generation queue is full; it drains on its own
+        while ((future = generationService.request(chunkKey(chunkX, chunkY))) == null) Thread.yield();
+        Chunk generated;
+        try {
+            generated = future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error error) throw error;
+            generated = null;
+        } catch (CancellationException e) {
+            generated = null;
+        }
+        return generated != null ? generated : peekChunk(chunkX, chunkY);
+    }
 
-        double elevation   = normalize(elevationGen.generate(x, y));
-        double moisture    = normalize(moistureGen.generate(chunkX * MOISTURE_FREQ, chunkY * MOISTURE_FREQ));
-        double temperature = normalize(temperatureGen.generate(chunkX * TEMPERATURE_FREQ, chunkY * TEMPERATURE_FREQ));
+    /**
+     * Gets a chunk if it has been generated, otherwise queues it for asynchronous generation.
+     * Never generates on the calling thread.
+     * @param chunkX Chunk X coordinate.
+     * @param chunkY Chunk Y coordinate.
+     * @return The Chunk, or null if it is still being generated.
+     */
+    public Chunk getChunkIfReady(int chunkX, int chunkY) {
+        Chunk chunk = peekChunk(chunkX, chunkY);
+        if (chunk != null) return chunk;
+        generationService.request(chunkKey(chunkX, chunkY));
+        return null;
+    }
 
-        if (elevation < WATER_THRESHOLD) return Biome.WATER;
+    /**
+     * Gets a chunk only if it is already loaded. Never generates or queues anything.
+     * @param chunkX Chunk X coordinate.
+     * @param chunkY Chunk Y coordinate.
+     * @return The Chunk, or null if it is not loaded.
+     */
+    public Chunk peekChunk(int chunkX, int chunkY) {
+        ChunkWindow w = window;
+        if (w != null) {
+            Chunk windowed = w.get(chunkX, chunkY);
+            if (windowed != null) return windowed;
+        }
+        return chunks.get(chunkKey(chunkX, chunkY));
+    }
 
-        boolean nearWater = false;
-        for (int[] offset : NEIGHBOR_OFFSETS) {
-            double nx = (chunkX + offset[0]) * ELEVATION_FREQ;
-            double ny = (chunkY + offset[1]) * ELEVATION_FREQ;
-            double neighborElev = normalize(elevationGen.generate(nx, ny));
-            if (neighborElev < WATER_THRESHOLD) {
-                nearWater = true;
-                break;
+    /**
+     * Queues generation of the chunks just beyond the window that lie ahead of the player's
+     * direction of travel, so they are ready by the time the window reaches them.
+     * @param chunkX    Player chunk X coordinate.
+     * @param chunkY    Player chunk Y coordinate.
+     * @param velocityX Player velocity along the tile X axis, in tiles per second.
+     * @param velocityY Player velocity along the tile Y axis, in tiles per second.
+     * @param radius    Current window radius in chunks.
+     */
+    public void prefetchAhead(int chunkX, int chunkY, float velocityX, float velocityY, int radius) {
+        float speed = (float) Math.sqrt(velocityX * velocityX + velocityY * velocityY);
+        if (speed < PREFETCH_MIN_SPEED) return;
+        float dirX = velocityX / speed;
+        float dirY = velocityY / speed;
+        for (int ring = radius + 1; ring <= radius + PREFETCH_DEPTH; ring++) {
+            for (int dx = -ring; dx <= ring; dx++) {
+                // Only the perimeter of the square at this ring distance
+                int step = (dx == -ring || dx == ring) ? 1 : 2 * ring;
+                for (int dy = -ring; dy <= ring; dy += step) {
+                    float dot = (dx * dirX + dy * dirY) / (float) Math.sqrt((double) dx * dx + (double) dy * dy);
+                    if (dot >= PREFETCH_CONE_COS) getChunkIfReady(chunkX + dx, chunkY + dy);
+                }
             }
         }
+    }
 
-        if (nearWater && elevation >= BEACH_MIN_ELEV && elevation <= BEACH_MAX_ELEV)
-            return Biome.BEACH;
+    /**
+     * @return The background generation service, for metrics.
+     */
+    public ChunkGenerationService getGenerationService() {
+        return generationService;
+    }
 
-        return Biome.getBiomeFromClimate(elevation, moisture, temperature);
+    private Chunk generateChunk(long key) {
+        int chunkX = ConcurrentLongMap.unpackX(key);
+        int chunkY = ConcurrentLongMap.unpackY(key);
+        ChunkStore store = chunkStore;
+        if (store != null) {
+            Chunk stored = store.load(chunkX, chunkY);
+            if (stored != null) {
+                reloadedChunks.incrementAndGet();
+                stored.touch(tick);
+                return stored;
+            }
+        }
+        if(elevationGen==null) createPerlin();
+        Biome biome = getBiomeForChunk(chunkX, chunkY);
+        Biome northBiome = getBiomeForChunk(chunkX, chunkY - 1);
+        Biome southBiome = getBiomeForChunk(chunkX, chunkY + 1);
+        Biome westBiome = getBiomeForChunk(chunkX - 1, chunkY);
+        Biome eastBiome = getBiomeForChunk(chunkX + 1, chunkY);
+        Chunk chunk = new Chunk(CHUNK_SIZE, biome, chunkX, chunkY, chunkSeed(seed, chunkX, chunkY),
+                        new Biome[] {northBiome, southBiome, westBiome, eastBiome});
+        if (packTiles) chunk.getTiles().compact();
+        chunk.touch(tick);
+        return chunk;
     }
 
     /**
-     *
-     * @param val
-     * @return Brings -1.0..1.0 to 0.0..1.0
+     * When enabled, newly generated chunks store their tiles palette packed. That roughly halves
+     * tile memory for typical biomes, at the cost of slower tile reads while rendering.
      */
+    public void setPackTiles(boolean pack) {
+        this.packTiles = pack;
+    }
 
-    private double normalize(double val) {
-        return (val + 1.0) / 2.0;
+    private Chunk storeGenerated(Chunk chunk) {
+        Chunk raced = chunks.putIfAbsent(chunkKey(chunk.getChunkX(), chunk.getChunkY()), chunk);
+        return raced != null ? raced : chunk;
     }
 
-    private void createPerlin(){
-        this.elevationGen = new PerlinNoise(seed);
-        this.moistureGen = new PerlinNoise(seed + 1000);
-        this.temperatureGen = new PerlinNoise(seed + 5000);
+    /**
+     * Centers the chunk window on the given chunk, creating or resizing it if needed.
+     * @param chunkX Center chunk X coordinate.
+     * @param chunkY Center chunk Y coordinate.
+     * @param radius Window radius in chunks.
+     * @return The recentered window.
+     */
+    public ChunkWindow recenterWindow(int chunkX, int chunkY, int radius) {
+        ChunkWindow w = window;
+        boolean moved = w == null || w.getRadius() != radius || w.getCenterX() != chunkX || w.getCenterY() != chunkY;
+        if (w == null || w.getRadius() != radius) {
+            w = new ChunkWindow(this, radius);
+        }
+        w.recenter(chunkX, chunkY);
+        window = w;
+        if (moved) {
+            long now = ++tick;
+            w.forEach(chunk -> chunk.touch(now));
+            // Keep the prefetch rings too, or they would be thrown away right after generating
+            int keepRadius = radius + PREFETCH_DEPTH;
+            if (discardCleanChunks) discardCleanChunksOutside(chunkX, chunkY, keepRadius);
+            enforceResidencyBudget(chunkX, chunkY, keepRadius);
+        }
+        return w;
+    }
+
+    /**
+     * Sets the residency budget. Once either limit is exceeded, the least recently touched
+     * chunks outside simulation range are evicted; dirty ones are spilled to the chunk store.
+     * @param maxChunks Maximum resident chunks, or 0 for no limit.
+     * @param maxBytes  Maximum estimated resident bytes, or 0 for no limit.
+     */
+    public void setResidencyBudget(int maxChunks, long maxBytes) {
+        this.maxResidentChunks = maxChunks;
+        this.maxResidentBytes = maxBytes;
+    }
+
+    /**
+     * Sets how far from the player each simulation tier reaches.
+     * @param nearRadius  Chunks within this distance are updated every frame.
+     * @param midRadius   Chunks within this distance are updated every midInterval frames; beyond it, coarsely.
+     * @param midInterval Frames between updates of a mid-range chunk.
+     */
+    public void setSimulationTiers(int nearRadius, int midRadius, int midInterval) {
+        this.simNearRadius = Math.max(0, nearRadius);
+        this.simMidRadius = Math.max(this.simNearRadius, midRadius);
+        this.simMidInterval = Math.max(1, midInterval);
+    }
+
+    /**
+     * @return The tier of a chunk, by its Chebyshev distance in chunks from the player's chunk.
+     */
+    public SimulationTier getSimulationTier(int chunkX, int chunkY, int playerChunkX, int playerChunkY) {
+        int distance = Math.max(Math.abs(chunkX - playerChunkX), Math.abs(chunkY - playerChunkY));
+        if (distance <= simNearRadius) return SimulationTier.NEAR;
+        if (distance <= simMidRadius) return SimulationTier.MID;
+        return SimulationTier.FAR;
+    }
+
+    public int getSimMidInterval() {
+        return simMidInterval;
+    }
+
+    /**
+     * Sets where evicted dirty chunks are written and reloaded from.
+     * Without a store, dirty chunks are never evicted.
+     */
+    public void setChunkStore(ChunkStore store) {
+        this.chunkStore = store;
+    }
+
+    public ChunkStore getChunkStore() {
+        return chunkStore;
+    }
+
+    /**
+     * Evicts least recently touched chunks further than keepRadius from the center
+     * until the world is back within its residency budget.
+     * @param centerX    Center chunk X coordinate.
+     * @param centerY    Center chunk Y coordinate.
+     * @param keepRadius Chebyshev radius in chunks that is never evicted.
+     */
+    public void enforceResidencyBudget(int centerX, int centerY, int keepRadius) {
+        if (maxResidentChunks <= 0 && maxResidentBytes <= 0) return;
+        int resident = chunks.size();
+        boolean overCount = maxResidentChunks > 0 && resident > maxResidentChunks;
+        long residentBytes = 0;
+        if (maxResidentBytes > 0) {
+            for (Chunk chunk : chunks.values()) residentBytes += chunk.estimateBytes();
+        }
+        boolean overBytes = maxResidentBytes > 0 && residentBytes > maxResidentBytes;
+        if (!overCount && !overBytes) return;
+
+        List<Chunk> candidates = new ArrayList<>();
+        for (Chunk chunk : chunks.values()) {
+            if (Math.abs(chunk.getChunkX() - centerX) <= keepRadius && Math.abs(chunk.getChunkY() - centerY) <= keepRadius) continue;
+            if (chunk.isDirty() && chunkStore == null) continue;
+            candidates.add(chunk);
+        }
+        candidates.sort(Comparator.comparingLong(Chunk::getLastTouched));
+
+        for (Chunk chunk : candidates) {
+            if ((maxResidentChunks <= 0 || resident <= maxResidentChunks)
+                && (maxResidentBytes <= 0 || residentBytes <= maxResidentBytes)) break;
+            long key = chunkKey(chunk.getChunkX(), chunk.getChunkY());
+            // Dirty chunks leave the map under the store's lock, so a concurrent load finds them in one place or the other
+            boolean removed = chunk.isDirty()
+                ? chunkStore.evict(chunk, () -> chunks.remove(key) != null)
+                : chunks.remove(key) != null;
+            if (!removed) continue;
+            unloaded(chunk);
+            resident--;
+            residentBytes -= chunk.estimateBytes();
+            evictedChunks++;
+        }
+        lastBlockedChunk = null;
+    }
+
+    /**
+     * Writes every evicted chunk still waiting in the background queue.
+     */
+    public void flushChunkStore() {
+        if (chunkStore != null) chunkStore.flush();
+    }
+
+    /**
+     * Merges every chunk evicted to this world's store into another store, e.g. the save slot's.
+     */
+    public void copyStoredChunksTo(ChunkStore target) {
+        if (chunkStore != null) chunkStore.copyRegionsTo(target);
+    }
+
+    public int getResidentChunkCount() {
+        return chunks.size();
+    }
+
+    public long getEvictedChunkCount() {
+        return evictedChunks;
+    }
+
+    public long getReloadedChunkCount() {
+        return reloadedChunks.get();
+    }
+
+    /**
+     * @return The window of chunks around the player, or null before the first recenter.
+     */
+    public ChunkWindow getWindow() {
+        return window;
+    }
+
+    /**
+     * Derives a chunk's seed from the world seed and its coordinates only, so a chunk
+     * generates identically no matter when or in what order it is visited.
+     * Uses the SplittableRandom / SplitMix64 finalizer to decorrelate neighbouring chunks.
+     * @param worldSeed The world seed.
+     * @param chunkX    Chunk X coordinate.
+     * @param chunkY    Chunk Y coordinate.
+     * @return The chunk seed.
+     */
+    public static long chunkSeed(int worldSeed, int chunkX, int chunkY) {
+        return mix64(mix64(worldSeed) + chunkKey(chunkX, chunkY));
+    }
+
+    private static long mix64(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * When enabled, chunks that were never modified are dropped once they leave the
+     * chunk window and are regenerated from their seed if the player comes back.
+     * @param discard True to discard clean chunks out of range.
+     */
+    public void setDiscardCleanChunks(boolean discard) {
+        this.discardCleanChunks = discard;
+    }
+
+    public boolean isDiscardCleanChunks() {
+        return discardCleanChunks;
+    }
+
+    /**
+     * @return Total number of clean chunks dropped so far.
+     */
+    public long getDiscardedChunkCount() {
+        return discardedChunks;
+    }
+
+    /**
+     * Drops every clean chunk further than the given radius from the center.
+     * Dirty chunks are always kept, since they cannot be regenerated.
+     * @param centerX    Center chunk X coordinate.
+     * @param centerY    Center chunk Y coordinate.
+     * @param keepRadius Chebyshev radius in chunks to keep.
+     */
+    public void discardCleanChunksOutside(int centerX, int centerY, int keepRadius) {
+        for (Chunk chunk : chunks.values()) {
+            if (chunk.isDirty()) continue;
+            if (Math.abs(chunk.getChunkX() - centerX) <= keepRadius && Math.abs(chunk.getChunkY() - centerY) <= keepRadius) continue;
+            if (chunks.remove(chunkKey(chunk.getChunkX(), chunk.getChunkY())) == null) continue;
+            unloaded(chunk);
+            discardedChunks++;
+        }
+        lastBlockedChunk = null;
+    }
+
+    // Drops what is derived from a chunk that has just left the map
+    private void unloaded(Chunk chunk) {
+        for (PortalGraph graph : portalGraphs.values()) graph.forget(chunk.getChunkX(), chunk.getChunkY());
     }
 
     /**
-     * Gets or generates a chunk at the specified coordinates.
+     * Packs chunk coordinates into the key used by the chunk store.
      * @param chunkX Chunk X coordinate.
      * @param chunkY Chunk Y coordinate.
-     * @return The Chunk instance.
+     * @return The packed key, x in the high word and y in the low word.
      */
-    public Chunk getChunk(int chunkX, int chunkY) {
-        if(elevationGen==null) createPerlin();
-        String key = chunkX + "," + chunkY;
-        return chunks.computeIfAbsent(key, k -> {
-            Biome biome = getBiomeForChunk(chunkX, chunkY);
-            Biome northBiome = getBiomeForChunk(chunkX, chunkY - 1);
-            Biome southBiome = getBiomeForChunk(chunkX, chunkY + 1);
-            Biome westBiome = getBiomeForChunk(chunkX - 1, chunkY);
-            Biome eastBiome = getBiomeForChunk(chunkX + 1, chunkY);
-            return new Chunk(CHUNK_SIZE, biome, chunkX, chunkY, seed + chunks.size(),
-                            new Biome[] {northBiome, southBiome, westBiome, eastBiome});
-        });
+    public static long chunkKey(int chunkX, int chunkY) {
+        return ConcurrentLongMap.pack(chunkX, chunkY);
     }
 
     /**
@@ -132,12 +488,143 @@ public class World{
         return new int[]{tileX, tileY, chunkX, chunkY};
     }
 
+    /**
+     * Tests whether a solid object stands on an absolute tile, without allocating.
+     * Tiles in chunks that are not loaded count as blocked, so callers never trigger generation.
+     * @param absX Absolute tile X coordinate.
+     * @param absY Absolute tile Y coordinate.
+     */
+    @Override
+    public boolean isBlocked(int absX, int absY) {
+        int chunkX = Math.floorDiv(absX, CHUNK_SIZE);
+        int chunkY = Math.floorDiv(absY, CHUNK_SIZE);
+        Chunk chunk = resolveChunk(chunkX, chunkY);
+        return chunk == null || chunk.isBlocked(absX - chunkX * CHUNK_SIZE, absY - chunkY * CHUNK_SIZE);
+    }
+
+    /**
+     * As {@link #isBlocked}, but ignoring mobs, for path data shared between many mobs.
+     */
+    public boolean isStaticBlocked(int absX, int absY) {
+        int chunkX = Math.floorDiv(absX, CHUNK_SIZE);
+        int chunkY = Math.floorDiv(absY, CHUNK_SIZE);
+        Chunk chunk = resolveChunk(chunkX, chunkY);
+        return chunk == null || chunk.isStaticBlocked(absX - chunkX * CHUNK_SIZE, absY - chunkY * CHUNK_SIZE);
+    }
+
+    /**
+     * @return A counter that moves whenever a non-mob obstacle appears or disappears or a tile
+     * changes, including when a chunk's objects are first indexed after loading.
+     */
+    public long getWalkabilityVersion() {
+        return GameObjectIndex.getStaticChangeCount();
+    }
+
+    /**
+     * @return The hostile-mob flow field toward the player, shared by every chasing mob.
+     */
+    public FlowField getPlayerFlowField() {
+        return playerFlowField;
+    }
+
+    /**
+     * Brings the player flow field up to date; a cheap no-op unless the player changed tile
+     * or an obstacle appeared or disappeared.
+     * @param playerAbsX Player absolute tile X coordinate.
+     * @param playerAbsY Player absolute tile Y coordinate.
+     */
+    public void updatePlayerFlowField(int playerAbsX, int playerAbsY) {
+        playerFlowField.update(staticNavigationGrids.get(MovementClass.LAND), getWalkabilityVersion(), playerAbsX, playerAbsY);
+    }
+
+    /**
+     * @return The chunk portal graph long paths of the movement class are planned on.
+     */
+    public PortalGraph getPortalGraph(MovementClass mc) {
+        return portalGraphs.get(mc);
+    }
+
+    /**
+     * @return Walkability and step costs for the movement class: its terrain plus every solid object.
+     */
+    public TileGrid getNavigationGrid(MovementClass mc) {
+        return navigationGrids.get(mc);
+    }
+
+    // One movement class's view of the loaded chunks; unloaded tiles are blocked
+    private final class LayerGrid implements TileGrid {
+        private final MovementClass mc;
+        private final boolean ignoreMobs;
+
+        LayerGrid(MovementClass mc, boolean ignoreMobs) {
+            this.mc = mc;
+            this.ignoreMobs = ignoreMobs;
+        }
+
+        @Override
+        public boolean isBlocked(int absX, int absY) {
+            return stepCost(absX, absY) == BLOCKED;
+        }
+
+        @Override
+        public int stepCost(int absX, int absY) {
+            int chunkX = Math.floorDiv(absX, CHUNK_SIZE);
+            int chunkY = Math.floorDiv(absY, CHUNK_SIZE);
+            Chunk chunk = resolveChunk(chunkX, chunkY);
+            if (chunk == null) return BLOCKED;
+            int x = absX - chunkX * CHUNK_SIZE;
+            int y = absY - chunkY * CHUNK_SIZE;
+            return ignoreMobs ? chunk.staticStepCost(mc, x, y) : chunk.stepCost(mc, x, y);
+        }
+    }
+
+    /**
+     * @return The scheduler that decides which mobs think each frame.
+     */
+    public ThinkScheduler<Mob> getThinkScheduler() {
+        return thinkScheduler;
+    }
+
+    /**
+     * @return What spawns and despawns enemies around the player.
+     */
+    public PopulationManager getPopulation() {
+        return population;
+    }
+
+    /**
+     * @return The queue mob path searches go through; worked off once per tick.
+     */
+    public PathService getPathService() {
+        return pathService;
+    }
+
+    private long getStaticVersion(int chunkX, int chunkY) {
+        Chunk chunk = peekChunk(chunkX, chunkY);
+        return chunk == null ? PortalGraph.UNLOADED : chunk.getStaticVersion();
+    }
+
+    // Path searches stay inside one chunk for long runs; skip the window lookup for those
+    private Chunk resolveChunk(int chunkX, int chunkY) {
+        Chunk chunk = lastBlockedChunk;
+        if (chunk == null || chunk.getChunkX() != chunkX || chunk.getChunkY() != chunkY) {
+            chunk = peekChunk(chunkX, chunkY);
+            if (chunk == null) return null;
+            lastBlockedChunk = chunk;
+        }
+        return chunk;
+    }
+
     /**
      * Adds a GameObject to the appropriate chunk.
      * @param obj The GameObject to add.
+     * @return False if the chunk is not loaded; it is queued for generation and the object is not added.
      */
-    public void addGameObject(GameObject obj) {
-        this.getChunk(obj.getCX(), obj.getCY()).addGameObject(obj);
+    public boolean addGameObject(GameObject obj) {
+        Chunk chunk = getChunkIfReady(obj.getCX(), obj.getCY());
+        if (chunk == null) return false;
+        chunk.addGameObject(obj);
+        return true;
     }
 
     /**
@@ -145,54 +632,68 @@ public class World{
      * @param gobs   List of GameObjects.
      * @param chunkX Chunk X coordinate.
      * @param chunkY Chunk Y coordinate.
+     * @return False if the chunk is not loaded; it is queued for generation and nothing is added.
      */
-    public void addGameObjects(List<GameObject> gobs, int chunkX, int chunkY) {
-        this.getChunk(chunkX, chunkY).addGameObjects(gobs);
+    public boolean addGameObjects(List<GameObject> gobs, int chunkX, int chunkY) {
+        Chunk chunk = getChunkIfReady(chunkX, chunkY);
+        if (chunk == null) return false;
+        chunk.addGameObjects(gobs);
+        return true;
     }
 
     /**
-     * Removes a GameObject by index from a specific chunk.
-     * @param idx    Index of the GameObject.
+     * Removes a GameObject by entity ID from a specific chunk, if that chunk is loaded.
+     * @param id     Entity ID of the GameObject.
      * @param chunkX Chunk X coordinate.
      * @param chunkY Chunk Y coordinate.
      */
-    public void removeGameObject(UUID uuid, int chunkX, int chunkY) {
-        this.getChunk(chunkX, chunkY).removeGameObject(uuid);
+    public void removeGameObject(long id, int chunkX, int chunkY) {
+        Chunk chunk = peekChunk(chunkX, chunkY);
+        if (chunk != null) chunk.removeGameObject(id);
     }
 
     public int getSeed() {
         return seed;
     }
 
-    public Map<String, Chunk> getChunks() {
-        return Collections.unmodifiableMap(chunks);
+    /**
+     * @return A read-only snapshot of every chunk currently held by the world.
+     */
+    public Collection<Chunk> getChunks() {
+        return Collections.unmodifiableList(chunks.values());
     }
 
     public void addChunk(Chunk chunk) {
-        String key = chunk.getChunkX() + "," + chunk.getChunkY();
-        chunks.put(key, chunk);
+        chunks.put(chunkKey(chunk.getChunkX(), chunk.getChunkY()), chunk);
+        lastBlockedChunk = null;
     }
 
+    /**
+     * Moves a GameObject between loaded chunks. Callers check the new chunk is loaded first;
+     * if it is not, the object stays where it is.
+     */
     public void moveGameObjectToChunk(GameObject obj, int oldChunkX, int oldChunkY, int newChunkX, int newChunkY) {
-        Chunk oldChunk = getChunk(oldChunkX, oldChunkY);
-        if (obj != null && oldChunk.getGameObjects().contains(obj)) {
-            oldChunk.removeGameObject(obj.getUUID());
-            Chunk newChunk = getChunk(newChunkX, newChunkY);
+        Chunk oldChunk = peekChunk(oldChunkX, oldChunkY);
+        Chunk newChunk = peekChunk(newChunkX, newChunkY);
+        if (newChunk == null) {
+            Log.warn("Chunk (" + newChunkX + ", " + newChunkY + ") not loaded, not moving obj id: " + (obj!=null?obj.getId(): "null"));
+            return;
+        }
+        if (obj != null && oldChunk != null && oldChunk.removeGameObject(obj)) {
             newChunk.addGameObject(obj);
             newChunk.setDirty(true);
         } else {
-            Log.warn("GameObject not found in chunk (" + oldChunkX + ", " + oldChunkY + ") - obj uuid: " + (obj!=null?obj.getUUID(): "null"));
+            Log.warn("GameObject not found in chunk (" + oldChunkX + ", " + oldChunkY + ") - obj id: " + (obj!=null?obj.getId(): "null"));
         }
     }
 
     public List<Chunk> getDirtyChunks() {
-        return chunks.values().parallelStream().filter(Chunk::isDirty).toList();
+        return chunks.values().stream().filter(Chunk::isDirty).toList();
     }
 
     public void addDirtyChunks(List<Chunk> dirtyChunks) {
         for (Chunk chunk : dirtyChunks) {
-            String key = chunk.getChunkX() + "," + chunk.getChunkY();
-            chunks.put(key, chunk);
+            addChunk(chunk);
         }
     }
 
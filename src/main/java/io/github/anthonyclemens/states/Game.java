@@ -1,5 +1,6 @@
 package io.github.anthonyclemens.states;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
@@ -21,8 +22,11 @@ import com.codedisaster.steamworks.SteamAPI;
 import io.github.anthonyclemens.Achievements.Achievement;
 import io.github.anthonyclemens.Achievements.AchievementType;
 import io.github.anthonyclemens.GameObjects.Building.MultiTileObject;
+import io.github.anthonyclemens.GameObjects.GameObject;
 import io.github.anthonyclemens.GameObjects.Mobs.Fish;
+import io.github.anthonyclemens.GameObjects.Mobs.PathService;
 import io.github.anthonyclemens.GameObjects.Mobs.Spider;
+import io.github.anthonyclemens.GameObjects.Mobs.ThinkScheduler;
 import io.github.anthonyclemens.GameObjects.Mobs.Zombie;
 import io.github.anthonyclemens.GameObjects.SingleTileObjects.SingleTileObject;
 import io.github.anthonyclemens.GameStates;
@@ -38,6 +42,7 @@ import io.github.anthonyclemens.Sound.JukeBox;
 import io.github.anthonyclemens.Sound.SoundBox;
 import io.github.anthonyclemens.Utils;
 import io.github.anthonyclemens.WorldGen.Chunk;
+import io.github.anthonyclemens.WorldGen.ChunkStore;
 import io.github.anthonyclemens.WorldGen.World;
 import io.github.anthonyclemens.utils.AmbientSoundManager;
 import io.github.anthonyclemens.utils.CollisionHandler;
@@ -61,6 +66,11 @@ public class Game extends BasicGameState{
     public static boolean paused = false;
     private int updateAccumulator = 0;
     private static final int TARGET_INTERVAL = 1000 / 15;
+    private float playerVelocityX = 0;
+    private float playerVelocityY = 0;
+    private int lastPlayerTileX = Integer.MIN_VALUE;
+    private int lastPlayerTileY = Integer.MIN_VALUE;
+    private static final float VELOCITY_SMOOTHING = 0.1f;
 
     // Game Constants
     private Image backgroundImage;
@@ -180,11 +190,12 @@ public class Game extends BasicGameState{
         updateMouse(input);
         updateProfiler.tick("Input updates");
 
-        Chunk currentChunk = chunkManager.getChunk(playerLoc[2], playerLoc[3]);
-        player.update(input, delta, playerLoc, currentChunk, paused);
+        // Until the player's chunk has been generated the player stands still
+        Chunk currentChunk = chunkManager.getChunkIfReady(playerLoc[2], playerLoc[3]);
+        if (currentChunk != null) player.update(input, delta, playerLoc, currentChunk, paused);
         updateProfiler.tick("Player update");
         if(!paused) {
-            collisionHandler.checkPlayerCollision(player, chunkManager.getChunk(playerLoc[2], playerLoc[3]));
+            collisionHandler.checkPlayerCollision(player, currentChunk);
             if(env.getCurrentDateTime().isDaysAfter(START_DATE_TIME, 1)) player.getAchievementManager().recordProgress(AchievementType.SURVIVE);
             //collisionHandler.checkMobCollision(chunkManager);
         }
@@ -198,8 +209,16 @@ public class Game extends BasicGameState{
             updateProfiler.tick("Player interaction");
 
             env.updateDayNightCycle(delta);
+            chunkManager.getThinkScheduler().advance(delta);
             renderer.updateChunksAroundPlayer(delta,player,env,playerLoc[2], playerLoc[3]);
+            prefetchChunks(delta, playerLoc);
             updateProfiler.tick("Update Visible Chunks and GameObjects");
+
+            chunkManager.getThinkScheduler().run(mob -> mob.think(player, chunkManager), ThinkScheduler.DEFAULT_BUDGET_NS);
+            updateProfiler.tick("Mob AI");
+
+            chunkManager.getPathService().process(PathService.DEFAULT_BUDGET_NS);
+            updateProfiler.tick("Path planning");
         }
     }
 
@@ -254,42 +273,60 @@ public class Game extends BasicGameState{
         }
         if (input.isKeyPressed(Input.KEY_F)){
             int[] clickedLoc = renderer.screenToIsometric(input.getMouseX(), input.getMouseY());
-            Chunk clickedChunk = chunkManager.getChunk(clickedLoc[2], clickedLoc[3]);
+            Chunk clickedChunk = chunkManager.getChunkIfReady(clickedLoc[2], clickedLoc[3]);
             Fish nFish = new Fish(clickedLoc[0], clickedLoc[1], clickedLoc[2], clickedLoc[3]);
-            clickedChunk.addGameObject(nFish);
+            if (clickedChunk != null) clickedChunk.addGameObject(nFish);
         }
         if (input.isKeyPressed(Input.KEY_Z)){
             int[] clickedLoc = renderer.screenToIsometric(input.getMouseX(), input.getMouseY());
-            Chunk clickedChunk = chunkManager.getChunk(clickedLoc[2], clickedLoc[3]);
+            Chunk clickedChunk = chunkManager.getChunkIfReady(clickedLoc[2], clickedLoc[3]);
             Zombie nZomb = new Zombie(clickedLoc[0], clickedLoc[1], clickedLoc[2], clickedLoc[3]);
             //nZomb.setDestinationByGlobalPosition(player.getPlayerLocation());
-            clickedChunk.addGameObject(nZomb);
+            if (clickedChunk != null) clickedChunk.addGameObject(nZomb);
         }
         if (input.isKeyPressed(Input.KEY_T)){
             int[] clickedLoc = renderer.screenToIsometric(input.getMouseX(), input.getMouseY());
-            Chunk clickedChunk = chunkManager.getChunk(clickedLoc[2], clickedLoc[3]);
+            Chunk clickedChunk = chunkManager.getChunkIfReady(clickedLoc[2], clickedLoc[3]);
             Spider nSpider = new Spider(clickedLoc[0], clickedLoc[1], clickedLoc[2], clickedLoc[3]);
             //nSpider.setDestinationByGlobalPosition(player.getPlayerLocation());
-            clickedChunk.addGameObject(nSpider);
+            if (clickedChunk != null) clickedChunk.addGameObject(nSpider);
         }
         if (input.isKeyPressed(Input.KEY_P)) paused = !paused;
         if (input.isKeyPressed(Input.KEY_B)){
             int[] clickedLoc = renderer.screenToIsometric(input.getMouseX(), input.getMouseY());
-            Chunk clickedChunk = chunkManager.getChunk(clickedLoc[2], clickedLoc[3]);
+            Chunk clickedChunk = chunkManager.getChunkIfReady(clickedLoc[2], clickedLoc[3]);
             MultiTileObject test = new MultiTileObject("mtos/tree.mto", clickedLoc[0], clickedLoc[1], clickedLoc[2], clickedLoc[3]);
-            clickedChunk.addGameObject(test);
+            if (clickedChunk != null) clickedChunk.addGameObject(test);
         }
         if (input.isKeyPressed(Input.KEY_L)){
             int[] clickedLoc = renderer.screenToIsometric(input.getMouseX(), input.getMouseY());
-            Chunk clickedChunk = chunkManager.getChunk(clickedLoc[2], clickedLoc[3]);
+            Chunk clickedChunk = chunkManager.getChunkIfReady(clickedLoc[2], clickedLoc[3]);
             SingleTileObject log = new SingleTileObject("main", "log", 30, clickedLoc[0], clickedLoc[1], clickedLoc[2], clickedLoc[3]);
-            clickedChunk.addGameObject(log);
+            if (clickedChunk != null) clickedChunk.addGameObject(log);
         }
         if(input.isKeyPressed(Input.KEY_N)){
             env.setTime(19,30,0);
         }
     }
 
+    /**
+     * Tracks the player's velocity in tiles per second and asks the world to generate
+     * the chunks ahead of it before the chunk window reaches them.
+     */
+    private void prefetchChunks(int delta, int[] playerLoc) {
+        int tileX = playerLoc[2] * World.CHUNK_SIZE + playerLoc[0];
+        int tileY = playerLoc[3] * World.CHUNK_SIZE + playerLoc[1];
+        if (lastPlayerTileX != Integer.MIN_VALUE && delta > 0) {
+            float instantX = (tileX - lastPlayerTileX) * 1000f / delta;
+            float instantY = (tileY - lastPlayerTileY) * 1000f / delta;
+            playerVelocityX += (instantX - playerVelocityX) * VELOCITY_SMOOTHING;
+            playerVelocityY += (instantY - playerVelocityY) * VELOCITY_SMOOTHING;
+        }
+        lastPlayerTileX = tileX;
+        lastPlayerTileY = tileY;
+        chunkManager.prefetchAhead(playerLoc[2], playerLoc[3], playerVelocityX, playerVelocityY, IsoRenderer.getRenderDistance());
+    }
+
     private void updateMouse(Input input){
         // Handle mouse dragging
         if (dragging) {
@@ -390,13 +427,19 @@ public class Game extends BasicGameState{
     }
 
     private void initWorld(GameContainer container) {
-        if (SharedData.isNewGame() || !SaveLoadManager.exists(SharedData.getSaveFilePath())) {
+        boolean loaded = false;
+        if (!SharedData.isNewGame() && SaveLoadManager.exists(SharedData.getSaveFilePath())) {
+            saveLoadManager.loadGame(SharedData.getSaveFilePath());
+            loaded = saveLoadManager.getRenderer() != null;
+            if (!loaded) Log.warn("Could not load " + SharedData.getSaveFilePath() + ", starting a new world");
+        }
+        if (!loaded) {
+            GameObject.resetIds(1);
             chunkManager = new World(new Random(Sys.getTime()).nextInt());
             createNewPlayer(container.getWidth() / 2f, container.getHeight() / 2f, 0.075f, 100, null);
             calender = new Calender(START_DATE_TIME.getDay(), START_DATE_TIME.getMonth(), START_DATE_TIME.getYear());
             env = new DayNightCycle(DAY_LENGTH, SUNRISE_TIME, SUNSET_TIME, calender);
         } else {
-            saveLoadManager.loadGame(SharedData.getSaveFilePath());
             chunkManager = saveLoadManager.getRenderer().getChunkManager();
             createNewPlayer(
                 saveLoadManager.getPlayerX(),
@@ -409,6 +452,21 @@ public class Game extends BasicGameState{
             calender = saveLoadManager.getDayNightCycle().getCalender();
             player.setPlayerInventory(saveLoadManager.getPlayerInventory());
         }
+        Settings settings = Settings.getInstance();
+        chunkManager.setDiscardCleanChunks(settings.isDiscardCleanChunks());
+        chunkManager.setPackTiles(settings.isPackChunkTiles());
+        chunkManager.setResidencyBudget(settings.getMaxResidentChunks(), settings.getMaxResidentChunkMB() * 1024L * 1024L);
+        chunkManager.setSimulationTiers(settings.getSimNearRadius(), settings.getSimMidRadius(), settings.getSimMidInterval());
+        chunkManager.getPopulation().setBudget(settings.getSpawnBudget(), settings.getHostileCap(),
+            settings.getChunkHostileCap(), settings.getDespawnDistance());
+        if (chunkManager.getChunkStore() == null) {
+            // Evicted chunks spill to scratch; the save slot is only written by saveGame
+            try {
+                chunkManager.setChunkStore(ChunkStore.createScratch(null));
+            } catch (IOException e) {
+                Log.error("No scratch folder for evicted chunks, keeping dirty chunks resident: " + e.getMessage());
+            }
+        }
         camera = new Camera(player.getX(), player.getY());
         SharedData.setLoadingSave(false);
     }
@@ -1,7 +1,8 @@
 package io.github.anthonyclemens.utils;
 
-import java.util.Iterator;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.newdawn.slick.geom.Rectangle;
 import org.newdawn.slick.util.Log;
@@ -15,26 +16,24 @@ import io.github.anthonyclemens.WorldGen.Chunk;
 import io.github.anthonyclemens.states.Game;
 
 public class CollisionHandler {
+    // Hitboxes are tile sized, so anything touching the player stands within this many tiles
+    private static final int COLLISION_RADIUS = 2;
+
+    // Reused between checks so gathering nearby objects does not allocate
+    private final List<GameObject> nearby = new ArrayList<>();
+    private final Consumer<GameObject> collectNearby = nearby::add;
+
     public void checkPlayerCollision(Player player, Chunk currentChunk) {
         if (currentChunk == null) {
             Log.debug("Current chunk is null, skipping collision check.");
             return;
         }
 
-        final List<GameObject> gameObjects = currentChunk.getGameObjects();
-        if (gameObjects == null || gameObjects.isEmpty()) {
-            return;
-        }
-
-        Iterator<GameObject> it = gameObjects.iterator();
-        while (it.hasNext()) {
-            GameObject gob;
-            try {
-                gob = it.next();
-            } catch (Exception e) {
-                return;
-            }
+        int[] playerLoc = player.getPlayerLocation();
+        if (playerLoc == null) return;
+        collectNearby(currentChunk, playerLoc[0], playerLoc[1]);
 
+        for (GameObject gob : nearby) {
             if (gob.getHitbox() == null) {
                 continue; // skip this object, don't exit the whole method
             }
@@ -68,7 +67,7 @@ public class CollisionHandler {
                     if (gob.getName().startsWith("ITEM_")) {
                         Items itemType = Items.valueOf(gob.getName());
                         if (player.getPlayerInventory().addItem(itemType, ((Item) gob).getQuantity())) {
-                            it.remove();
+                            currentChunk.removeGameObject(gob);
                         }
                         return; // stop after picking up item
                     }
@@ -122,11 +121,8 @@ public class CollisionHandler {
             Log.debug("Mob render coordinates are invalid, skipping collision check.");
             return;
         }
-        List<GameObject> gameObjects = currentChunk.getGameObjects();
-        if (gameObjects == null || gameObjects.isEmpty()) {
-            return;
-        }
-        for (GameObject gob : gameObjects) {
+        collectNearby(currentChunk, mob.getX(), mob.getY());
+        for (GameObject gob : nearby) {
             if (gob != mob && gob.getHitbox().intersects(mob.getHitbox())) {
                 Rectangle mobHit = mob.getHitbox();
                 Rectangle otherHit = gob.getHitbox();
@@ -175,6 +171,10 @@ public class CollisionHandler {
             }
         }
     }
-}
-
 
+    private void collectNearby(Chunk chunk, int tileX, int tileY) {
+        nearby.clear();
+        chunk.forEachGameObjectIn(tileX - COLLISION_RADIUS, tileY - COLLISION_RADIUS,
+            tileX + COLLISION_RADIUS, tileY + COLLISION_RADIUS, collectNearby);
+    }
+}
@@ -0,0 +1,275 @@
+package io.github.anthonyclemens.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+
+/**
+ * Open-addressing hash map keyed by primitive longs, safe for concurrent use.
+ * Lookups are lock-free and allocate nothing; inserts and removals are serialized on a lock.
+ * Used by the World to store chunks under packed (chunkX, chunkY) keys.
+ * @param <V> The value type.
+ */
+public class ConcurrentLongMap<V> {
+    private static final int DEFAULT_CAPACITY = 1024;
+
+    private static final class Entry<V> {
+        final long key;
+        final V value;
+
+        Entry(long key, V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private final Object writeLock = new Object();
+    private volatile AtomicReferenceArray<Entry<V>> table;
+    private volatile int size = 0;
+    // Odd while a removal is shifting entries, so lock-free readers know a miss may be false
+    private volatile int removalSeq = 0;
+
+    public ConcurrentLongMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize Number of entries to size the table for before the first resize.
+     */
+    public ConcurrentLongMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(16, expectedSize * 2 - 1)) << 1;
+        this.table = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * Packs two ints into a single long key, x in the high word and y in the low word.
+     */
+    public static long pack(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
+    public static int unpackX(long key) {
+        return (int) (key >> 32);
+    }
+
+    public static int unpackY(long key) {
+        return (int) key;
+    }
+
+    /**
+     * Gets the value for a key without locking.
+     * @return The value, or null if absent.
+     */
+    public V get(long key) {
+        int seq = removalSeq;
+        AtomicReferenceArray<Entry<V>> t = table;
+        Entry<V> e = find(t, key);
+        if (e != null) return e.value;
+        // A miss is only trusted if no removal was moving entries around meanwhile
+        if ((seq & 1) == 0 && seq == removalSeq && t == table) return null;
+        synchronized (writeLock) {
+            e = find(table, key);
+            return e != null ? e.value : null;
+        }
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous mapping.
+     * @return The previous value, or null.
+     */
+    public V put(long key, V value) {
+        synchronized (writeLock) {
+            return insert(key, value, true);
+        }
+    }
+
+    /**
+     * Maps a key to a value only if it is not mapped yet.
+     * @return The existing value, or null if the new value was stored.
+     */
+    public V putIfAbsent(long key, V value) {
+        synchronized (writeLock) {
+            return insert(key, value, false);
+        }
+    }
+
+    /**
+     * Gets the value for a key, creating it if absent.
+     * The mapping function runs outside the lock so slow factories (chunk generation) never
+     * block readers or other writers. Under contention it may run more than once for the same
+     * key; only the first stored result is kept and returned to every caller.
+     */
+    public V computeIfAbsent(long key, LongFunction<? extends V> mappingFunction) {
+        V existing = get(key);
+        if (existing != null) return existing;
+        V created = mappingFunction.apply(key);
+        if (created == null) return null;
+        V raced = putIfAbsent(key, created);
+        return raced != null ? raced : created;
+    }
+
+    /**
+     * Removes the mapping for a key.
+     * @return The removed value, or null if absent.
+     */
+    public V remove(long key) {
+        synchronized (writeLock) {
+            AtomicReferenceArray<Entry<V>> t = table;
+            int mask = t.length() - 1;
+            int i = indexFor(key, mask);
+            Entry<V> e;
+            while ((e = t.get(i)) != null) {
+                if (e.key == key) break;
+                i = (i + 1) & mask;
+            }
+            if (e == null) return null;
+
+            removalSeq++;
+            try {
+                // Backward-shift deletion keeps probe chains intact without tombstones
+                int hole = i;
+                int j = i;
+                while (true) {
+                    j = (j + 1) & mask;
+                    Entry<V> next = t.get(j);
+                    if (next == null) break;
+                    int home = indexFor(next.key, mask);
+                    boolean movable = (hole <= j) ? (home <= hole || home > j) : (home <= hole && home > j);
+                    if (movable) {
+                        t.set(hole, next);
+                        hole = j;
+                    }
+                }
+                t.set(hole, null);
+                size--;
+            } finally {
+                removalSeq++;
+            }
+            return e.value;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        synchronized (writeLock) {
+            table = new AtomicReferenceArray<>(table.length());
+            size = 0;
+        }
+    }
+
+    /**
+     * Empties the map, handing every removed value to action. Unlike removing keys during
+     * forEachKey, this cannot skip entries that backward-shift deletion moves behind the walk.
+     */
+    public void removeAll(Consumer<? super V> action) {
+        AtomicReferenceArray<Entry<V>> t;
+        synchronized (writeLock) {
+            t = table;
+            table = new AtomicReferenceArray<>(t.length());
+            size = 0;
+        }
+        for (int i = 0; i < t.length(); i++) {
+            Entry<V> e = t.get(i);
+            if (e != null) action.accept(e.value);
+        }
+    }
+
+    /**
+     * Visits every value. Entries added or removed during the walk may or may not be seen.
+     */
+    public void forEachValue(Consumer<? super V> action) {
+        AtomicReferenceArray<Entry<V>> t = table;
+        for (int i = 0; i < t.length(); i++) {
+            Entry<V> e = t.get(i);
+            if (e != null) action.accept(e.value);
+        }
+    }
+
+    /**
+     * Visits every key. Entries added or removed during the walk may or may not be seen.
+     */
+    public void forEachKey(LongConsumer action) {
+        AtomicReferenceArray<Entry<V>> t = table;
+        for (int i = 0; i < t.length(); i++) {
+            Entry<V> e = t.get(i);
+            if (e != null) action.accept(e.key);
+        }
+    }
+
+    /**
+     * @return A snapshot list of all values.
+     */
+    public List<V> values() {
+        List<V> out = new ArrayList<>(size);
+        forEachValue(out::add);
+        return out;
+    }
+
+    private V insert(long key, V value, boolean replace) {
+        AtomicReferenceArray<Entry<V>> t = table;
+        int mask = t.length() - 1;
+        int i = indexFor(key, mask);
+        Entry<V> e;
+        while ((e = t.get(i)) != null) {
+            if (e.key == key) {
+                if (replace) t.set(i, new Entry<>(key, value));
+                return e.value;
+            }
+            i = (i + 1) & mask;
+        }
+        t.set(i, new Entry<>(key, value));
+        size++;
+        if (size * 2 > t.length()) resize();
+        return null;
+    }
+
+    private void resize() {
+        AtomicReferenceArray<Entry<V>> old = table;
+        AtomicReferenceArray<Entry<V>> grown = new AtomicReferenceArray<>(old.length() * 2);
+        int mask = grown.length() - 1;
+        for (int i = 0; i < old.length(); i++) {
+            Entry<V> e = old.get(i);
+            if (e == null) continue;
+            int j = indexFor(e.key, mask);
+            while (grown.get(j) != null) j = (j + 1) & mask;
+            grown.set(j, e);
+        }
+        table = grown;
+    }
+
+    private static <V> Entry<V> find(AtomicReferenceArray<Entry<V>> t, long key) {
+        int mask = t.length() - 1;
+        int i = indexFor(key, mask);
+        Entry<V> e;
+        while ((e = t.get(i)) != null) {
+            if (e.key == key) return e;
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    private static int indexFor(long key, int mask) {
+        // Murmur3 finalizer, spreads neighbouring coordinates across the table
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h & mask;
+    }
+}
@@ -4,10 +4,17 @@ import org.newdawn.slick.Color;
 import org.newdawn.slick.GameContainer;
 import org.newdawn.slick.Graphics;
 
+import io.github.anthonyclemens.GameObjects.Mobs.PathService;
+import io.github.anthonyclemens.GameObjects.Mobs.Pathfinder;
+import io.github.anthonyclemens.GameObjects.Mobs.ThinkScheduler;
 import io.github.anthonyclemens.Player.Player;
 import io.github.anthonyclemens.Rendering.IsoRenderer;
 import io.github.anthonyclemens.Sound.JukeBox;
 import io.github.anthonyclemens.Sound.SoundBox;
+import io.github.anthonyclemens.WorldGen.ChunkGenerationService;
+import io.github.anthonyclemens.WorldGen.PopulationManager;
+import io.github.anthonyclemens.WorldGen.SimulationTier;
+import io.github.anthonyclemens.WorldGen.World;
 import io.github.anthonyclemens.states.Game;
 public class DebugGUI {
     /**
@@ -41,6 +48,39 @@ public class DebugGUI {
         String seed = (renderer != null ? String.valueOf(renderer.getChunkManager().getSeed()) : "N/A");
         String paused = (Game.paused) ? "Yes" : "No";
         String chunkIsDirty = player.getCurrentChunk().isDirty() ? "Yes" : "No";
+        String chunkGen = "N/A";
+        String chunkResidency = "N/A";
+        if (renderer != null) {
+            World world = renderer.getChunkManager();
+            ChunkGenerationService gen = world.getGenerationService();
+            chunkGen = String.format("%.1f/s, queued: %d", gen.getChunksPerSecond(), gen.getQueueDepth());
+            chunkResidency = world.getResidentChunkCount() + " resident, " + world.getEvictedChunkCount() + " evicted, " + world.getReloadedChunkCount() + " reloaded";
+        }
+        long searches = Pathfinder.getSearchCount();
+        String pathing = searches + " searches, " + (searches == 0 ? 0 : Pathfinder.getExpandedNodeCount() / searches) + " nodes avg, "
+            + Pathfinder.getPartialPathCount() + " partial, " + Pathfinder.getFailedSearchCount() + " failed";
+        if (renderer != null) {
+            PathService paths = renderer.getChunkManager().getPathService();
+            pathing += ", queued: " + paths.getQueueDepth() + ", coalesced: " + paths.getCoalescedCount() + ", dropped: " + paths.getDroppedCount();
+        }
+        String ai = "N/A";
+        if (renderer != null) {
+            ThinkScheduler<?> thinking = renderer.getChunkManager().getThinkScheduler();
+            ai = thinking.getThinksLastFrame() + " thinks/frame, " + thinking.getDeferredCount() + " deferred, "
+                + thinking.getDeferredTotal() + " deferred total";
+        }
+        String simulation = "N/A";
+        if (renderer != null) {
+            simulation = renderer.getSimulationTierCount(SimulationTier.NEAR) + " near, "
+                + renderer.getSimulationTierCount(SimulationTier.MID) + " mid, "
+                + renderer.getSimulationTierCount(SimulationTier.FAR) + " far";
+        }
+        String population = "N/A";
+        if (renderer != null) {
+            PopulationManager mobs = renderer.getChunkManager().getPopulation();
+            population = mobs.getHostileCount() + " hostile, " + mobs.getPassiveCount() + " passive, "
+                + mobs.getSpawnedCount() + " spawned, " + mobs.getDespawnedCount() + " despawned";
+        }
         String playerEquippedItem = (player.getEquippedItem() != null) ? player.getEquippedItem().name() : "None";
 
         String[] debugStrings = new String[] {
@@ -50,6 +90,12 @@ public class DebugGUI {
             "Tile: " + tile,
             "Chunk: " + chunk,
             "Chunk isDirty: " + chunkIsDirty,
+            "Chunk generation: " + chunkGen,
+            "Chunks: " + chunkResidency,
+            "Paths: " + pathing,
+            "AI: " + ai,
+            "Simulated chunks: " + simulation,
+            "Mobs: " + population,
             "Zoom level: " + Math.round(zoom * 100.0) / 100.0 + "x",
             "Biome: " + biome,
             "Song playing: " + song,
@@ -1,13 +1,13 @@
 package io.github.anthonyclemens.utils;
 
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
-import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -21,15 +21,20 @@ import java.util.zip.GZIPOutputStream;
 import org.newdawn.slick.util.Log;
 
 import io.github.anthonyclemens.Achievements.Achievement;
+import io.github.anthonyclemens.GameObjects.GameObject;
 import io.github.anthonyclemens.Logic.DayNightCycle;
 import io.github.anthonyclemens.Player.Inventory;
 import io.github.anthonyclemens.Player.Player;
 import io.github.anthonyclemens.Rendering.Camera;
 import io.github.anthonyclemens.Rendering.IsoRenderer;
 import io.github.anthonyclemens.WorldGen.Chunk;
+import io.github.anthonyclemens.WorldGen.ChunkStore;
 import io.github.anthonyclemens.WorldGen.World;
 
 public class SaveLoadManager {
+    // Written to seed.dat after the seed and ID counter. Saves without it predate 64-bit entity IDs
+    // and flat tile buffers; their objects and chunks no longer deserialize, so they are refused
+    public static final int SAVE_FORMAT_VERSION = 2;
 
     private DayNightCycle loadedEnv;
     private IsoRenderer loadedRenderer;
@@ -60,7 +65,7 @@ public class SaveLoadManager {
         saveGzippedObject(saveRoot.resolve("environment.dat"), env);
         saveGzippedObject(saveRoot.resolve("camera.dat"), camera);
         saveGzippedObject(saveRoot.resolve("player.dat"), player.getX(), player.getY(), player.getSpeed(), player.getHealth(),player.getPlayerInventory(),player.getPlayerAchievements());
-        saveGzippedObject(saveRoot.resolve("seed.dat"), chunkManager.getSeed());
+        saveGzippedObject(saveRoot.resolve("seed.dat"), chunkManager.getSeed(), GameObject.getNextId(), SAVE_FORMAT_VERSION);
 
         // Save chunks in 32x32 region groups
         saveChunkRegions(chunkManager, saveRoot.resolve("regions"));
@@ -69,26 +74,21 @@ public class SaveLoadManager {
     }
 
     private void saveChunkRegions(World chunkManager, Path regionFolder) {
-        try {
-            Files.createDirectories(regionFolder);
-        } catch (IOException e) {
-            Log.error("Failed to create region folder: " + e.getMessage());
-            return;
-        }
+        // Chunks evicted during play sit in the world's scratch store; carry them over first,
+        // so the resident copies written below win where both exist
+        ChunkStore store = new ChunkStore(regionFolder);
+        chunkManager.copyStoredChunksTo(store);
 
         Map<String, List<Chunk>> groupedChunks = new HashMap<>();
-        for (Chunk chunk : chunkManager.getChunks().values()) {
-            if (!chunk.isDirty()) continue;
-            int cx = chunk.getChunkX();
-            int cy = chunk.getChunkY();
-            String regionKey = (cx / 32) + "_" + (cy / 32);
+        for (Chunk chunk : chunkManager.getDirtyChunks()) {
+            String regionKey = ChunkStore.regionKey(chunk.getChunkX(), chunk.getChunkY());
             groupedChunks.computeIfAbsent(regionKey, k -> new ArrayList<>()).add(chunk);
         }
 
+        // Merge into existing regions, which hold chunks saved earlier and not loaded since
         for (Map.Entry<String, List<Chunk>> entry : groupedChunks.entrySet()) {
             String regionKey = entry.getKey();
-            Path regionFile = regionFolder.resolve("region_" + regionKey + ".dat");
-            saveGzippedObject(regionFile, entry.getValue());
+            store.writeRegions(entry.getValue());
 
             String label = "Chunks - region_" + regionKey;
             Log.debug(label + " total size: " + getSerializedSize(entry.getValue()));
@@ -120,13 +120,35 @@ public class SaveLoadManager {
         }
     }
 
+    /**
+     * Loads a save. If it cannot be loaded, e.g. because an older version wrote it,
+     * {@link #getRenderer()} returns null afterwards.
+     */
     public void loadGame(String folderPath) {
         Path saveRoot = Paths.get(folderPath);
+        this.loadedRenderer = null;
+
+        int seed;
+        long nextId;
+        try (ObjectInputStream seedIn = openGzippedInput(saveRoot.resolve("seed.dat"))) {
+            seed = (int) seedIn.readObject();
+            nextId = (long) seedIn.readObject();
+            int version = (int) seedIn.readObject();
+            if (version != SAVE_FORMAT_VERSION) {
+                Log.error("Save " + folderPath + " has format " + version + ", expected " + SAVE_FORMAT_VERSION + "; not loading it");
+                return;
+            }
+        } catch (EOFException e) {
+            Log.error("Save " + folderPath + " was written by an older version and can no longer be loaded");
+            return;
+        } catch (IOException | ClassNotFoundException e) {
+            Log.error("Failed to load game: " + e.getMessage());
+            return;
+        }
 
         try (ObjectInputStream envIn = openGzippedInput(saveRoot.resolve("environment.dat"));
              ObjectInputStream camIn = openGzippedInput(saveRoot.resolve("camera.dat"));
-             ObjectInputStream playerIn = openGzippedInput(saveRoot.resolve("player.dat"));
-             ObjectInputStream seedIn = openGzippedInput(saveRoot.resolve("seed.dat"))) {
+             ObjectInputStream playerIn = openGzippedInput(saveRoot.resolve("player.dat"))) {
 
             this.loadedEnv = (DayNightCycle) envIn.readObject();
             Log.debug("Loaded DayNightCycle");
@@ -141,11 +163,13 @@ public class SaveLoadManager {
             this.playerAchievements = (List<Achievement>) playerIn.readObject();
             Log.debug("Loaded Player");
 
-            int seed = (int) seedIn.readObject();
+            // New objects must not reuse IDs already stored in the region files
+            GameObject.resetIds(nextId);
 
-            // Load chunks from dirty regions
+            // Saved chunks are read back from their region files as the player reaches them;
+            // chunks evicted during play go to a scratch folder until the next save
             World cm = new World(seed);
-            loadChunkRegions(cm, saveRoot.resolve("regions"));
+            cm.setChunkStore(ChunkStore.createScratch(saveRoot.resolve("regions")));
             Log.debug("Loaded ChunkManager");
 
             this.loadedRenderer = new IsoRenderer(1f, "main", cm);
@@ -156,21 +180,6 @@ public class SaveLoadManager {
         }
     }
 
-    private void loadChunkRegions(World chunkManager, Path regionFolder) {
-        try (DirectoryStream<Path> files = Files.newDirectoryStream(regionFolder, "*.dat")) {
-            for (Path regionFile : files) {
-                try (ObjectInputStream ois = openGzippedInput(regionFile)) {
-                    List<Chunk> chunkList = (List<Chunk>) ois.readObject();
-                    chunkManager.addDirtyChunks(chunkList);
-                } catch (IOException | ClassNotFoundException e) {
-                    Log.error("Failed to load region " + regionFile.getFileName() + ": " + e.getMessage());
-                }
-            }
-        } catch (IOException e) {
-            Log.error("Region folder missing: " + e.getMessage());
-        }
-    }
-
     private ObjectInputStream openGzippedInput(Path file) throws IOException {
         return new ObjectInputStream(new GZIPInputStream(new FileInputStream(file.toFile())));
     }
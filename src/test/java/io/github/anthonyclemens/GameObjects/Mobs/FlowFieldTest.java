@@ -0,0 +1,84 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.github.anthonyclemens.WorldGen.TileGrid;
+
+public class FlowFieldTest {
+
+    // A wall along x = 5 from y = -10 to y = 10, open everywhere else
+    private static final TileGrid WALL = (x, y) -> x == 5 && y >= -10 && y <= 10;
+
+    @Test
+    public void testDistancesMatchShortestPaths(){
+        FlowField field = new FlowField(32);
+        field.update(WALL, 0, 10, 0);
+        Assert.assertEquals(0, field.distanceAt(10, 0));
+        Assert.assertEquals(3, field.distanceAt(10, 3));
+        Assert.assertEquals("Around the wall end", 32, field.distanceAt(0, 0));
+        Assert.assertEquals(FlowField.UNREACHABLE, field.distanceAt(5, 0));
+        Assert.assertEquals("Outside the map", FlowField.UNREACHABLE, field.distanceAt(100, 0));
+    }
+
+    @Test
+    public void testRebuildsOnlyWhenGoalOrVersionChanges(){
+        FlowField field = new FlowField(8);
+        Assert.assertTrue(field.update(WALL, 0, 0, 0));
+        Assert.assertFalse(field.update(WALL, 0, 0, 0));
+        Assert.assertTrue(field.update(WALL, 0, 1, 0));
+        Assert.assertTrue(field.update(WALL, 1, 1, 0));
+        Assert.assertEquals(3, field.getRebuildCount());
+    }
+
+    @Test
+    public void testFollowWalksDownhill(){
+        FlowField field = new FlowField(32);
+        field.update(WALL, 0, 10, 0);
+        TilePath path = new TilePath();
+        Assert.assertTrue(field.followInto(0, 0, 100, path));
+        Assert.assertEquals("Start plus one tile per step", 33, path.size());
+        Assert.assertEquals(10, path.getX(path.size() - 1));
+        Assert.assertEquals(0, path.getY(path.size() - 1));
+
+        Assert.assertTrue(field.followInto(0, 0, 4, path));
+        Assert.assertEquals(5, path.size());
+        Assert.assertFalse(field.followInto(5, 0, 4, path));
+    }
+
+    // Water costing 3 per tile in a strip x = 4..6, either short (y = -1..1) or across the whole map
+    private static TileGrid water(boolean acrossMap) {
+        return new TileGrid() {
+            @Override
+            public boolean isBlocked(int x, int y) {
+                return false;
+            }
+
+            @Override
+            public int stepCost(int x, int y) {
+                return x >= 4 && x <= 6 && (acrossMap || Math.abs(y) <= 1) ? 3 : 1;
+            }
+        };
+    }
+
+    @Test
+    public void testWaterIsWeighed(){
+        FlowField field = new FlowField(32);
+        field.update(water(false), 0, 10, 0);
+        // Round the strip is 10 steps plus 2 up and 2 down; straight through would cost 16
+        Assert.assertEquals(14, field.distanceAt(0, 0));
+        TilePath path = new TilePath();
+        Assert.assertTrue(field.followInto(0, 0, 100, path));
+        Assert.assertEquals(15, path.size());
+        for (int i = 0; i < path.size(); i++) {
+            boolean wet = path.getX(i) >= 4 && path.getX(i) <= 6 && Math.abs(path.getY(i)) <= 1;
+            Assert.assertFalse("Path should go round the water", wet);
+        }
+
+        // With no way round, crossing costs 3 per water tile
+        field.update(water(true), 1, 10, 0);
+        Assert.assertEquals(16, field.distanceAt(0, 0));
+        Assert.assertTrue(field.followInto(0, 0, 100, path));
+        Assert.assertEquals("Straight across", 11, path.size());
+    }
+}
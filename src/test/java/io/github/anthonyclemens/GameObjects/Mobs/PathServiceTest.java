@@ -0,0 +1,97 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PathServiceTest {
+
+    private static final class Walker implements PathService.Requester {
+        int x;
+        int y;
+
+        @Override
+        public int getAbsTileX() {
+            return x;
+        }
+
+        @Override
+        public int getAbsTileY() {
+            return y;
+        }
+    }
+
+    // Records the goals it was asked for and plans a straight two-step path
+    private final List<Integer> planned = new ArrayList<>();
+    private final PathService service = new PathService((mc, sx, sy, gx, gy, out) -> {
+        planned.add(gx);
+        out.clear();
+        out.add(sx, sy);
+        out.add(gx, gy);
+        return Pathfinder.Result.FOUND;
+    });
+
+    @Test
+    public void testResubmittingReplacesGoal(){
+        PathService.Request request = new PathService.Request(new Walker());
+        service.submit(request, 0, 0, 5, 0, PathService.PRIORITY_WANDER);
+        service.submit(request, 0, 0, 7, 0, PathService.PRIORITY_WANDER);
+        Assert.assertEquals(1, service.getQueueDepth());
+        Assert.assertEquals(1, service.process(Long.MAX_VALUE));
+        Assert.assertEquals(PathService.State.DONE, request.getState());
+        Assert.assertEquals(7, request.getPath().getX(1));
+        Assert.assertEquals(1, service.getCoalescedCount());
+    }
+
+    @Test
+    public void testHigherPriorityFirstAndBudgetLeavesRest(){
+        PathService.Request wander = new PathService.Request(new Walker());
+        PathService.Request chase = new PathService.Request(new Walker());
+        service.submit(wander, 0, 0, 1, 0, PathService.PRIORITY_WANDER);
+        service.submit(chase, 0, 0, 2, 0, PathService.PRIORITY_CHASE);
+        // A zero budget still answers one request
+        Assert.assertEquals(1, service.process(0));
+        Assert.assertEquals(PathService.State.DONE, chase.getState());
+        Assert.assertTrue(wander.isPending());
+        Assert.assertEquals(1, service.process(0));
+        Assert.assertEquals(PathService.State.DONE, wander.getState());
+    }
+
+    @Test
+    public void testIdenticalSearchesRunOnce(){
+        PathService.Request a = new PathService.Request(new Walker());
+        PathService.Request b = new PathService.Request(new Walker());
+        service.submit(a, 0, 0, 9, 0, PathService.PRIORITY_CHASE);
+        service.submit(b, 0, 0, 9, 0, PathService.PRIORITY_CHASE);
+        service.process(Long.MAX_VALUE);
+        Assert.assertEquals(1, planned.size());
+        Assert.assertEquals(9, b.getPath().getX(1));
+    }
+
+    @Test
+    public void testStaleRequestDropped(){
+        Walker walker = new Walker();
+        PathService.Request request = new PathService.Request(walker);
+        service.submit(request, 0, 0, 9, 0, PathService.PRIORITY_WANDER);
+        walker.x = PathService.STALE_DISTANCE + 1;
+        service.process(Long.MAX_VALUE);
+        Assert.assertEquals(PathService.State.DROPPED, request.getState());
+        Assert.assertTrue(planned.isEmpty());
+        request.consume();
+        Assert.assertEquals(PathService.State.IDLE, request.getState());
+    }
+
+    @Test
+    public void testCancelledRequestSkipped(){
+        PathService.Request request = new PathService.Request(new Walker());
+        service.submit(request, 0, 0, 9, 0, PathService.PRIORITY_CHASE);
+        request.cancel();
+        Assert.assertEquals(PathService.State.IDLE, request.getState());
+        service.process(Long.MAX_VALUE);
+        Assert.assertTrue(planned.isEmpty());
+        Assert.assertEquals(PathService.State.IDLE, request.getState());
+        Assert.assertEquals(0, service.getQueueDepth());
+    }
+}
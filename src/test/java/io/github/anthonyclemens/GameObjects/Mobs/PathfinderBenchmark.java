@@ -0,0 +1,87 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import java.util.Random;
+
+import io.github.anthonyclemens.WorldGen.HashNoise;
+import io.github.anthonyclemens.WorldGen.TileGrid;
+
+/**
+ * Compares plain A* with jump point search on noise-generated terrain: open plains with a few
+ * rocks, a patchy forest, and dense scrub. Reports nodes expanded and time per search.
+ * Not a unit test; run it manually with
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.github.anthonyclemens.GameObjects.Mobs.PathfinderBenchmark
+ */
+public class PathfinderBenchmark {
+    private static final int SIDE = 512;
+    private static final int QUERIES = 2_000;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int REACH = 40;
+
+    public static void main(String[] args) {
+        report("Plains", terrain(1, 0.02, 0.0));
+        report("Forest", terrain(2, 0.05, 0.35));
+        report("Scrub", terrain(3, 0.20, 0.15));
+    }
+
+    /**
+     * @param rockChance Chance of a lone blocked tile.
+     * @param woodCover  Noise level above which tiles are blocked, as a fraction of the range; 0 for none.
+     */
+    private static TileGrid terrain(int seed, double rockChance, double woodCover) {
+        HashNoise noise = new HashNoise(seed);
+        Random rand = new Random(seed);
+        boolean[] blocked = new boolean[SIDE * SIDE];
+        for (int y = 0; y < SIDE; y++) {
+            for (int x = 0; x < SIDE; x++) {
+                boolean wood = woodCover > 0 && noise.fbm(x * 0.08, y * 0.08, 3, 2.0, 0.5) > 1 - 2 * woodCover;
+                blocked[y * SIDE + x] = wood || rand.nextDouble() < rockChance;
+            }
+        }
+        return (x, y) -> x < 0 || y < 0 || x >= SIDE || y >= SIDE || blocked[y * SIDE + x];
+    }
+
+    private static void report(String label, TileGrid grid) {
+        int[] queries = queries(grid);
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(grid, queries, Pathfinder.Mode.ASTAR);
+            run(grid, queries, Pathfinder.Mode.JUMP_POINT);
+        }
+        long astarNodes = -Pathfinder.getExpandedNodeCount();
+        long astarTime = run(grid, queries, Pathfinder.Mode.ASTAR);
+        astarNodes += Pathfinder.getExpandedNodeCount();
+        long jumpNodes = -Pathfinder.getExpandedNodeCount();
+        long jumpTime = run(grid, queries, Pathfinder.Mode.JUMP_POINT);
+        jumpNodes += Pathfinder.getExpandedNodeCount();
+        System.out.printf("%-8s A* %8.1f nodes %8.2f us   JPS %8.1f nodes %8.2f us%n", label,
+            astarNodes / (double) QUERIES, astarTime / 1000.0 / QUERIES,
+            jumpNodes / (double) QUERIES, jumpTime / 1000.0 / QUERIES);
+    }
+
+    private static long run(TileGrid grid, int[] queries, Pathfinder.Mode mode) {
+        TilePath path = new TilePath();
+        long start = System.nanoTime();
+        for (int i = 0; i < queries.length; i += 4) {
+            Pathfinder.findPath(grid, queries[i], queries[i + 1], queries[i + 2], queries[i + 3], path,
+                Integer.MAX_VALUE, Pathfinder.DEFAULT_MAX_RADIUS, mode);
+        }
+        return System.nanoTime() - start;
+    }
+
+    // Open start and goal tiles no more than REACH apart per axis
+    private static int[] queries(TileGrid grid) {
+        Random rand = new Random(42);
+        int[] queries = new int[QUERIES * 4];
+        for (int i = 0; i < queries.length; ) {
+            int sx = REACH + rand.nextInt(SIDE - 2 * REACH);
+            int sy = REACH + rand.nextInt(SIDE - 2 * REACH);
+            int gx = sx + rand.nextInt(2 * REACH + 1) - REACH;
+            int gy = sy + rand.nextInt(2 * REACH + 1) - REACH;
+            if (grid.isBlocked(sx, sy) || grid.isBlocked(gx, gy)) continue;
+            queries[i++] = sx;
+            queries[i++] = sy;
+            queries[i++] = gx;
+            queries[i++] = gy;
+        }
+        return queries;
+    }
+}
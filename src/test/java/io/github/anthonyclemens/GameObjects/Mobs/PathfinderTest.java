@@ -0,0 +1,132 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.github.anthonyclemens.WorldGen.TileGrid;
+
+public class PathfinderTest {
+
+    // A wall along x = 5 from y = -10 to y = 10, open everywhere else
+    private static final TileGrid WALL = (x, y) -> x == 5 && y >= -10 && y <= 10;
+
+    @Test
+    public void testOpenGroundIsStraight(){
+        TilePath path = new TilePath();
+        Assert.assertEquals(Pathfinder.Result.FOUND, Pathfinder.findPath((x, y) -> false, 0, 0, 8, 0, path));
+        Assert.assertEquals("Smoothing leaves only start and goal", 2, path.size());
+        Assert.assertEquals(8, path.getX(1));
+    }
+
+    @Test
+    public void testRoutesAroundWall(){
+        TilePath path = new TilePath();
+        Assert.assertEquals(Pathfinder.Result.FOUND, Pathfinder.findPath(WALL, 0, 0, 10, 0, path));
+        Assert.assertEquals(0, path.peekX());
+        Assert.assertEquals(10, path.getX(path.size() - 1));
+        for (int i = 0; i < path.size(); i++) {
+            Assert.assertFalse(WALL.isBlocked(path.getX(i), path.getY(i)));
+        }
+    }
+
+    @Test
+    public void testUnreachableGoalGivesClosestPartialPath(){
+        TilePath path = new TilePath();
+        TileGrid boxed = (x, y) -> Math.abs(x) == 2 || Math.abs(y) == 2;
+        Assert.assertEquals(Pathfinder.Result.PARTIAL, Pathfinder.findPath(boxed, 0, 0, 6, 0, path));
+        Assert.assertEquals(1, path.getX(path.size() - 1));
+        Assert.assertEquals(0, path.getY(path.size() - 1));
+
+        Assert.assertEquals("Goals past the radius get a partial path toward them",
+            Pathfinder.Result.PARTIAL, Pathfinder.findPath((x, y) -> false, 0, 0, 500, 0, path, 10_000, 20));
+        Assert.assertEquals(20, path.getX(path.size() - 1));
+    }
+
+    @Test
+    public void testNoStepLeavesPathUntouched(){
+        TilePath path = new TilePath();
+        path.add(1, 2);
+        Assert.assertEquals(Pathfinder.Result.NONE, Pathfinder.findPath((x, y) -> x != 0 || y != 0, 0, 0, 6, 0, path));
+        Assert.assertEquals(1, path.size());
+    }
+
+    @Test
+    public void testNodeBudgetBoundsSearch(){
+        Pathfinder.SearchContext ctx = new Pathfinder.SearchContext();
+        // Goal walled in; without a budget the search would flood the whole radius
+        TileGrid walledGoal = (x, y) -> Math.abs(x - 40) + Math.abs(y) == 1;
+        Assert.assertEquals(Pathfinder.Result.PARTIAL, ctx.search(walledGoal, 0, 0, 40, 0, 100, Pathfinder.MAX_RADIUS));
+        Assert.assertEquals(100, ctx.expanded);
+    }
+
+    @Test
+    public void testReusedContextFindsShortestPath(){
+        // Repeat so later searches run on stamped state left by earlier ones
+        Pathfinder.SearchContext ctx = new Pathfinder.SearchContext();
+        for (int i = 0; i < 3; i++) {
+            Assert.assertEquals(Pathfinder.Result.FOUND, ctx.search(WALL, 0, 0, 10, 0, Integer.MAX_VALUE, Pathfinder.MAX_RADIUS));
+            // Around the wall end: 11 up, 10 across, 11 down
+            Assert.assertEquals(33, ctx.pathLength);
+            Assert.assertEquals(Pathfinder.Result.FOUND, ctx.search(WALL, 0, 0, 3, 4, Integer.MAX_VALUE, Pathfinder.MAX_RADIUS));
+            Assert.assertEquals(8, ctx.pathLength);
+        }
+    }
+
+    @Test
+    public void testStepCostsAreWeighed(){
+        // A pond along x = 5 from y = -3 to y = 3 that costs 10 to wade through
+        TileGrid pond = new TileGrid() {
+            @Override
+            public boolean isBlocked(int x, int y) {
+                return false;
+            }
+
+            @Override
+            public int stepCost(int x, int y) {
+                return x == 5 && Math.abs(y) <= 3 ? 10 : 1;
+            }
+        };
+        Pathfinder.SearchContext ctx = new Pathfinder.SearchContext();
+        Assert.assertEquals(Pathfinder.Result.FOUND, ctx.search(pond, 0, 0, 10, 0, Integer.MAX_VALUE, Pathfinder.MAX_RADIUS));
+        // Walking round costs 18 against 19 for wading straight across
+        Assert.assertEquals(19, ctx.pathLength);
+        for (int i = 0; i < ctx.pathLength; i++) {
+            Assert.assertEquals(1, pond.stepCost(ctx.pathX[i], ctx.pathY[i]));
+        }
+    }
+
+    @Test
+    public void testJumpPointMatchesAStar(){
+        Pathfinder.SearchContext astar = new Pathfinder.SearchContext();
+        Pathfinder.SearchContext jump = new Pathfinder.SearchContext();
+        Random rand = new Random(7);
+        for (int trial = 0; trial < 200; trial++) {
+            long salt = rand.nextLong();
+            // Scattered rocks, about one tile in five
+            TileGrid rocks = (x, y) -> (x != 0 || y != 0) && Math.floorMod((x * 73856093L) ^ (y * 19349663L) ^ salt, 5) == 0;
+            int gx = rand.nextInt(61) - 30;
+            int gy = rand.nextInt(61) - 30;
+            Pathfinder.Result expected = astar.search(rocks, 0, 0, gx, gy, Integer.MAX_VALUE, 40);
+            Pathfinder.Result actual = jump.searchJump(rocks, 0, 0, gx, gy, Integer.MAX_VALUE, 40);
+            Assert.assertEquals(expected, actual);
+            if (actual != Pathfinder.Result.FOUND) continue;
+            Assert.assertEquals("Same length as A*", astar.pathLength, jump.pathLength);
+            for (int i = 1; i < jump.pathLength; i++) {
+                Assert.assertEquals(1, Math.abs(jump.pathX[i] - jump.pathX[i - 1]) + Math.abs(jump.pathY[i] - jump.pathY[i - 1]));
+                Assert.assertFalse(rocks.isBlocked(jump.pathX[i], jump.pathY[i]));
+            }
+        }
+    }
+
+    @Test
+    public void testJumpPointExpandsFewNodesOnOpenGround(){
+        Pathfinder.SearchContext astar = new Pathfinder.SearchContext();
+        Pathfinder.SearchContext jump = new Pathfinder.SearchContext();
+        Assert.assertEquals(Pathfinder.Result.FOUND, astar.search(WALL, 0, 0, 10, 0, Integer.MAX_VALUE, Pathfinder.MAX_RADIUS));
+        Assert.assertEquals(Pathfinder.Result.FOUND, jump.searchJump(WALL, 0, 0, 10, 0, Integer.MAX_VALUE, Pathfinder.MAX_RADIUS));
+        Assert.assertEquals(astar.pathLength, jump.pathLength);
+        Assert.assertTrue(jump.expanded * 4 < astar.expanded);
+    }
+}
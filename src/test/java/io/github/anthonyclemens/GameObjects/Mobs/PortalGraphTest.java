@@ -0,0 +1,101 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.github.anthonyclemens.WorldGen.TileGrid;
+
+public class PortalGraphTest {
+    private static final int CHUNK = 8;
+    // Chunks from -6 to 6 on both axes are loaded
+    private static final PortalGraph.ChunkVersions LOADED =
+        (cx, cy) -> Math.abs(cx) <= 6 && Math.abs(cy) <= 6 ? 1 : PortalGraph.UNLOADED;
+    // A wall along x = 12 from y = -60 to y = 20, so the way round is through chunk row 2 or below
+    private static final TileGrid WALL = (x, y) -> x == 12 && y >= -60 && y <= 20;
+    // Water costing 3 a tile for x from 8 to 23 and y from -4 to 4; round it is cheaper than through
+    private static final TileGrid LAKE = new TileGrid() {
+        @Override
+        public boolean isBlocked(int x, int y) {
+            return false;
+        }
+
+        @Override
+        public int stepCost(int x, int y) {
+            return isWet(x, y) ? 3 : 1;
+        }
+    };
+
+    private static boolean isWet(int x, int y) {
+        return x >= 8 && x <= 23 && Math.abs(y) <= 4;
+    }
+
+    @Test
+    public void testRouteGoesAroundWall(){
+        PortalGraph graph = new PortalGraph(WALL, LOADED, CHUNK);
+        TilePath route = new TilePath();
+        Assert.assertTrue(graph.findRoute(0, 0, 30, 0, route));
+        Assert.assertEquals(30, route.getX(route.size() - 1));
+        Assert.assertEquals(0, route.getY(route.size() - 1));
+        boolean passedSouth = false;
+        for (int i = 0; i < route.size(); i++) {
+            Assert.assertFalse(WALL.isBlocked(route.getX(i), route.getY(i)));
+            if (route.getY(i) >= 2 * CHUNK) passedSouth = true;
+        }
+        Assert.assertTrue(passedSouth);
+
+        Assert.assertFalse("Same chunk", graph.findRoute(0, 0, 3, 3, route));
+        Assert.assertFalse("Goal not loaded", graph.findRoute(0, 0, 200, 0, route));
+    }
+
+    @Test
+    public void testPortalsRebuiltOnlyWhenVersionsChange(){
+        long[] version = {1};
+        PortalGraph graph = new PortalGraph(WALL, (cx, cy) -> cx == 0 && cy == 0 ? version[0] : 1, CHUNK);
+        graph.getPortals(0, 0);
+        graph.getPortals(0, 0);
+        Assert.assertEquals(1, graph.getRebuildCount());
+        version[0] = 2;
+        graph.getPortals(0, 0);
+        Assert.assertEquals(2, graph.getRebuildCount());
+        // The east neighbour's version is part of chunk (-1, 0)'s portals too
+        graph.getPortals(-1, 0);
+        version[0] = 3;
+        graph.getPortals(-1, 0);
+        Assert.assertEquals(4, graph.getRebuildCount());
+    }
+
+    @Test
+    public void testLongPathIsRefinedOnlyNearTheStart(){
+        PortalGraph graph = new PortalGraph((x, y) -> false, LOADED, CHUNK);
+        TilePath path = new TilePath();
+        Assert.assertEquals(Pathfinder.Result.PARTIAL, graph.findPath((x, y) -> false, -40, 0, 40, 0, path));
+        int endX = path.getX(path.size() - 1);
+        Assert.assertTrue(endX > -40 && endX <= -40 + CHUNK * 2);
+
+        Assert.assertEquals("Short paths are planned whole",
+            Pathfinder.Result.FOUND, graph.findPath((x, y) -> false, 0, 0, 20, 0, path));
+    }
+
+    @Test
+    public void testRouteGoesAroundWater(){
+        PortalGraph graph = new PortalGraph(LAKE, LOADED, CHUNK);
+        TilePath route = new TilePath();
+        // Straight across is 30 steps with 16 of them wet; round the lake is 40 dry ones
+        Assert.assertTrue(graph.findRoute(0, 0, 30, 0, route));
+        for (int i = 0; i < route.size(); i++) {
+            Assert.assertFalse("Route should go round the water", isWet(route.getX(i), route.getY(i)));
+        }
+    }
+
+    @Test
+    public void testForgetDropsUnloadedChunks(){
+        PortalGraph graph = new PortalGraph(WALL, LOADED, CHUNK);
+        graph.getPortals(0, 0);
+        graph.getPortals(1, 0);
+        Assert.assertEquals(2, graph.getCachedChunkCount());
+        graph.forget(1, 0);
+        Assert.assertEquals(1, graph.getCachedChunkCount());
+        Assert.assertNotNull(graph.getPortals(0, 0));
+        Assert.assertEquals(1, graph.getCachedChunkCount());
+    }
+}
@@ -0,0 +1,75 @@
+package io.github.anthonyclemens.GameObjects.Mobs;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ThinkSchedulerTest {
+    // One slot comes up per millisecond, so advance(1) is one slot
+    private static final int ONE_MS_SLOTS = ThinkScheduler.SLOTS;
+
+    @Test
+    public void testWaveIsSpreadOverSlots(){
+        ThinkScheduler<Long> scheduler = new ThinkScheduler<>(ONE_MS_SLOTS);
+        // A wave of consecutive IDs, offered every frame as chunk updates do
+        int waveSize = ThinkScheduler.SLOTS * 3;
+        List<Long> thought = new ArrayList<>();
+        for (int frame = 0; frame < ThinkScheduler.SLOTS; frame++) {
+            scheduler.advance(1);
+            for (long id = 100; id < 100 + waveSize; id++) scheduler.offer(id, id);
+            Assert.assertEquals(3, scheduler.run(thought::add, Long.MAX_VALUE));
+        }
+        Assert.assertEquals("Each mob once per cycle", waveSize, thought.size());
+        Assert.assertEquals(waveSize, thought.stream().distinct().count());
+    }
+
+    @Test
+    public void testBudgetCarriesWorkOver(){
+        ThinkScheduler<Long> scheduler = new ThinkScheduler<>(ONE_MS_SLOTS);
+        scheduler.advance(1);
+        for (long id = 0; id < 5; id++) scheduler.offer(id * ThinkScheduler.SLOTS, id);
+        List<Long> thought = new ArrayList<>();
+        // A zero budget still lets one mob think
+        Assert.assertEquals(1, scheduler.run(thought::add, 0));
+        Assert.assertEquals(4, scheduler.getDeferredCount());
+        Assert.assertEquals(4, scheduler.run(thought::add, Long.MAX_VALUE));
+        Assert.assertEquals(List.of(0L, 1L, 2L, 3L, 4L), thought);
+        Assert.assertEquals(4, scheduler.getDeferredTotal());
+    }
+
+    @Test
+    public void testOfferCoversSkippedFrames(){
+        ThinkScheduler<Long> scheduler = new ThinkScheduler<>(ONE_MS_SLOTS);
+        List<Long> thought = new ArrayList<>();
+        // Slots 0 to 3 come up over four frames, nothing offered on the first three
+        for (int frame = 0; frame < 4; frame++) scheduler.advance(1);
+        // A chunk updated every 4 frames covers slots 0..3 on this update
+        Assert.assertTrue(scheduler.offer(0, 0L, 4));
+        Assert.assertTrue(scheduler.offer(3, 3L, 4));
+        Assert.assertFalse("Slot came up before the skipped frames", scheduler.offer(ThinkScheduler.SLOTS - 1, 31L, 4));
+        Assert.assertFalse("Slot comes up next frame", scheduler.offer(4, 4L, 4));
+        Assert.assertFalse("Only this frame's slot without skipped frames", scheduler.offer(0, 0L, 1));
+        // More skipped frames than slots covers every slot once
+        Assert.assertTrue(scheduler.offer(4, 4L, ThinkScheduler.SLOTS * 2));
+        Assert.assertEquals(3, scheduler.run(thought::add, Long.MAX_VALUE));
+        Assert.assertEquals(List.of(0L, 3L, 4L), thought);
+    }
+
+    @Test
+    public void testCadenceDoesNotDependOnFrameRate(){
+        // Frame lengths for 144, 60 and 30 FPS
+        for (int frameMs : new int[] {7, 16, 33}) {
+            ThinkScheduler<Long> scheduler = new ThinkScheduler<>();
+            List<Long> thought = new ArrayList<>();
+            for (int elapsed = 0; elapsed + frameMs <= 1_000; elapsed += frameMs) {
+                scheduler.advance(frameMs);
+                scheduler.offer(5, 5L);
+                scheduler.offer(6, 6L);
+                scheduler.run(thought::add, Long.MAX_VALUE);
+            }
+            Assert.assertEquals("Two thinks a second each at " + frameMs + " ms frames", 4, thought.size());
+        }
+    }
+}
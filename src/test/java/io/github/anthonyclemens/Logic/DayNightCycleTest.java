@@ -0,0 +1,31 @@
+package io.github.anthonyclemens.Logic;
+
+import org.junit.Test;
+import static org.junit.Assert.assertEquals;
+
+
+public class DayNightCycleTest {
+    // One minute days, so an hour of game time is 2.5 seconds
+    private static final long HOUR_MS = 2_500;
+
+    @Test
+    public void testDaylightWithinOneDay() {
+        DayNightCycle cycle = new DayNightCycle(1f, 6f, 18f, new Calender(1, 1, 2023));
+        // Starts at 8AM; run on to 10PM
+        cycle.updateDayNightCycle(14 * HOUR_MS);
+        long now = cycle.getWorldTime();
+        assertEquals(14 * HOUR_MS, now);
+        // 8AM to 6PM was light, 6PM to 10PM dark
+        assertEquals(10 * HOUR_MS, cycle.getDaylightBetween(0, now), 1);
+        assertEquals(0, cycle.getDaylightBetween(now - 4 * HOUR_MS, now), 1);
+    }
+
+    @Test
+    public void testDaylightOverSeveralDays() {
+        DayNightCycle cycle = new DayNightCycle(1f, 6f, 18f, new Calender(1, 1, 2023));
+        for (int i = 0; i < 72; i++) cycle.updateDayNightCycle(HOUR_MS);
+        // Three whole days from 8AM to 8AM, twelve light hours each
+        assertEquals(36 * HOUR_MS, cycle.getDaylightBetween(0, cycle.getWorldTime()), 5);
+        assertEquals(0, cycle.getDaylightBetween(100, 100));
+    }
+}
@@ -0,0 +1,56 @@
+package io.github.anthonyclemens.WorldGen;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BiomeCacheTest {
+    private static final int[][] NEIGHBOR_OFFSETS = {
+        {-2, 0}, {2, 0}, {0, -2}, {0, 2},
+        {-1, -1}, {-1, 1}, {1, -1}, {1, 1},
+        {-1, 0}, {1, 0}, {0, -1}, {0, 1}
+    };
+
+    private final PerlinNoise elevation = new PerlinNoise(5);
+    private final PerlinNoise moisture = new PerlinNoise(6);
+    private final PerlinNoise temperature = new PerlinNoise(7);
+
+    @Test
+    public void testMatchesPointEvaluation(){
+        BiomeCache cache = new BiomeCache(elevation, moisture, temperature);
+        // Spans region borders on both sides of zero
+        for (int x = -40; x <= 40; x += 3) {
+            for (int y = -40; y <= 40; y += 3) {
+                Assert.assertEquals("Biome at " + x + "," + y, referenceBiome(x, y), cache.getBiome(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testEvictsColdRegions(){
+        BiomeCache cache = new BiomeCache(elevation, moisture, temperature, 4);
+        for (int r = 0; r < 10; r++) cache.getBiome(r * BiomeCache.REGION_SIZE, 0);
+        Assert.assertTrue("Cache should stay within its region budget", cache.getRegionCount() <= 4);
+        Assert.assertEquals("Evicted regions should be rebuilt identically", referenceBiome(0, 0), cache.getBiome(0, 0));
+    }
+
+    // The original per-chunk computation from World.getBiomeForChunk
+    private Biome referenceBiome(int chunkX, int chunkY) {
+        double e = normalize(elevation.generate(chunkX * 0.010, chunkY * 0.010));
+        double m = normalize(moisture.generate(chunkX * 0.028, chunkY * 0.028));
+        double t = normalize(temperature.generate(chunkX * 0.020, chunkY * 0.020));
+        if (e < 0.3) return Biome.WATER;
+        boolean nearWater = false;
+        for (int[] offset : NEIGHBOR_OFFSETS) {
+            if (normalize(elevation.generate((chunkX + offset[0]) * 0.010, (chunkY + offset[1]) * 0.010)) < 0.3) {
+                nearWater = true;
+                break;
+            }
+        }
+        if (nearWater && e >= 0.3 && e <= 0.4) return Biome.BEACH;
+        return Biome.getBiomeFromClimate(e, m, t);
+    }
+
+    private static double normalize(double val) {
+        return (val + 1.0) / 2.0;
+    }
+}
@@ -0,0 +1,111 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import io.github.anthonyclemens.utils.ConcurrentLongMap;
+
+/**
+ * Microbenchmark comparing the old "x,y" String keyed chunk map against the packed long store.
+ * Simulates one frame of chunk lookups: the render, update and hitbox passes over the
+ * (2*renderDistance+1)^2 chunks around the player, plus pathfinding lookups.
+ * Not a unit test; run it manually with
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.github.anthonyclemens.WorldGen.ChunkMapBenchmark
+ */
+public class ChunkMapBenchmark {
+    private static final int RENDER_DISTANCE = 8;
+    private static final int WORLD_RADIUS = 40;
+    private static final int PATH_LOOKUPS_PER_FRAME = 20_000;
+    private static final int WARMUP_FRAMES = 2_000;
+    private static final int MEASURED_FRAMES = 5_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        Map<String, Object> stringMap = new ConcurrentHashMap<>();
+        ConcurrentLongMap<Object> longMap = new ConcurrentLongMap<>();
+        for (int x = -WORLD_RADIUS; x <= WORLD_RADIUS; x++) {
+            for (int y = -WORLD_RADIUS; y <= WORLD_RADIUS; y++) {
+                Object chunk = new Object();
+                stringMap.put(x + "," + y, chunk);
+                longMap.put(World.chunkKey(x, y), chunk);
+            }
+        }
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            stringFrame(stringMap, i);
+            longFrame(longMap, i);
+        }
+
+        report("String keys", measure(() -> stringFrame(stringMap, 0)));
+        report("Packed long keys", measure(() -> longFrame(longMap, 0)));
+    }
+
+    private static long[] measure(FrameRunner frame) {
+        long sink = 0;
+        long bytesBefore = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_FRAMES; i++) {
+            sink += frame.run();
+        }
+        long elapsed = System.nanoTime() - start;
+        long bytes = THREADS.getThreadAllocatedBytes(Thread.currentThread().getId()) - bytesBefore;
+        if (sink == 42) System.out.print("");
+        return new long[]{elapsed, bytes};
+    }
+
+    private static void report(String label, long[] result) {
+        long lookups = (long) MEASURED_FRAMES * lookupsPerFrame();
+        System.out.printf("%-18s %8.2f ns/lookup  %10.3f ms/frame  %12d bytes/frame%n",
+            label,
+            result[0] / (double) lookups,
+            result[0] / 1_000_000.0 / MEASURED_FRAMES,
+            result[1] / MEASURED_FRAMES);
+    }
+
+    private static int lookupsPerFrame() {
+        int side = 2 * RENDER_DISTANCE + 1;
+        return side * side * 3 + PATH_LOOKUPS_PER_FRAME;
+    }
+
+    private static int stringFrame(Map<String, Object> map, int salt) {
+        int found = 0;
+        for (int pass = 0; pass < 3; pass++) {
+            for (int x = -RENDER_DISTANCE; x <= RENDER_DISTANCE; x++) {
+                for (int y = -RENDER_DISTANCE; y <= RENDER_DISTANCE; y++) {
+                    if (map.get(x + "," + y) != null) found++;
+                }
+            }
+        }
+        for (int i = 0; i < PATH_LOOKUPS_PER_FRAME; i++) {
+            int x = ((i * 7 + salt) % 17) - RENDER_DISTANCE;
+            int y = ((i * 13 + salt) % 17) - RENDER_DISTANCE;
+            if (map.get(x + "," + y) != null) found++;
+        }
+        return found;
+    }
+
+    private static int longFrame(ConcurrentLongMap<Object> map, int salt) {
+        int found = 0;
+        for (int pass = 0; pass < 3; pass++) {
+            for (int x = -RENDER_DISTANCE; x <= RENDER_DISTANCE; x++) {
+                for (int y = -RENDER_DISTANCE; y <= RENDER_DISTANCE; y++) {
+                    if (map.get(World.chunkKey(x, y)) != null) found++;
+                }
+            }
+        }
+        for (int i = 0; i < PATH_LOOKUPS_PER_FRAME; i++) {
+            int x = ((i * 7 + salt) % 17) - RENDER_DISTANCE;
+            int y = ((i * 13 + salt) % 17) - RENDER_DISTANCE;
+            if (map.get(World.chunkKey(x, y)) != null) found++;
+        }
+        return found;
+    }
+
+    @FunctionalInterface
+    private interface FrameRunner {
+        int run();
+    }
+}
@@ -0,0 +1,20 @@
+package io.github.anthonyclemens.WorldGen;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ChunkTest {
+
+    @Test
+    public void testSkippedTimeAccumulatesUpToCap(){
+        int skipped = 0;
+        skipped = Chunk.addSkippedTime(skipped, 16);
+        skipped = Chunk.addSkippedTime(skipped, 17);
+        Assert.assertEquals(33, skipped);
+        // A stall is capped rather than handed to objects in one go
+        skipped = Chunk.addSkippedTime(skipped, 1_000);
+        Assert.assertEquals(Chunk.MAX_UPDATE_DELTA_MS, skipped);
+        Assert.assertEquals(Chunk.MAX_UPDATE_DELTA_MS, Chunk.addSkippedTime(skipped, 16));
+        Assert.assertEquals(Chunk.MAX_UPDATE_DELTA_MS, Chunk.addSkippedTime(0, Chunk.MAX_UPDATE_DELTA_MS));
+    }
+}
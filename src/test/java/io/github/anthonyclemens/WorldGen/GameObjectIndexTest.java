@@ -0,0 +1,98 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import io.github.anthonyclemens.GameObjects.GameObject;
+import io.github.anthonyclemens.GameObjects.Items;
+import io.github.anthonyclemens.Player.Player;
+import io.github.anthonyclemens.Rendering.IsoRenderer;
+
+public class GameObjectIndexTest {
+    private static final int SIZE = 24;
+
+    private static class Stub extends GameObject {
+        Stub(int x, int y, boolean solid) {
+            super("test", x, y, 0, 0, "stub");
+            this.solid = solid;
+        }
+        @Override public void render(IsoRenderer r, int lodLevel) {}
+        @Override public void update(IsoRenderer r, int deltaTime) {}
+        @Override public void calculateHitbox(IsoRenderer r) {}
+        @Override public void onUse(Player player, Items item) {}
+        @Override public void onHit(Player player, Items item) {}
+    }
+
+    @Test
+    public void testPointQueries(){
+        GameObjectIndex index = new GameObjectIndex(SIZE);
+        Stub rock = new Stub(3, 4, true);
+        Stub flower = new Stub(5, 5, false);
+        index.add(rock);
+        index.add(flower);
+
+        Assert.assertTrue(index.hasSolidAt(3, 4));
+        Assert.assertFalse("Non-solid objects do not block", index.hasSolidAt(5, 5));
+        Assert.assertFalse(index.hasSolidAt(4, 3));
+        Assert.assertEquals(1, index.countAt(5, 5));
+        Assert.assertSame(flower, index.getAt(5, 5, 0));
+
+        index.remove(rock);
+        Assert.assertFalse(index.hasSolidAt(3, 4));
+        Assert.assertEquals(GameObject.NOT_INDEXED, rock.getIndexCell());
+    }
+
+    @Test
+    public void testBlockedMaskTracksSolidObjects(){
+        GameObjectIndex index = new GameObjectIndex(SIZE);
+        Stub a = new Stub(23, 23, true);
+        Stub b = new Stub(23, 23, true);
+        index.add(a);
+        index.add(b);
+        index.add(new Stub(0, 0, false));
+        Assert.assertTrue(index.isBlocked(23, 23));
+        Assert.assertFalse(index.isBlocked(0, 0));
+
+        index.remove(a);
+        Assert.assertTrue("Still blocked while another solid object stands there", index.isBlocked(23, 23));
+        b.setX(22);
+        index.reindex(b);
+        Assert.assertFalse(index.isBlocked(23, 23));
+        Assert.assertTrue(index.isBlocked(22, 23));
+    }
+
+    @Test
+    public void testReindexFollowsMovement(){
+        GameObjectIndex index = new GameObjectIndex(SIZE);
+        Stub mob = new Stub(1, 1, true);
+        index.add(mob);
+        mob.setX(2);
+        index.reindex(mob);
+        Assert.assertEquals(0, index.countAt(1, 1));
+        Assert.assertEquals(1, index.countAt(2, 1));
+    }
+
+    @Test
+    public void testRectQueryMatchesScan(){
+        GameObjectIndex index = new GameObjectIndex(SIZE);
+        List<GameObject> all = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Stub s = new Stub((i * 7) % SIZE, (i * 13) % SIZE, true);
+            all.add(s);
+            index.add(s);
+        }
+        List<GameObject> found = new ArrayList<>();
+        index.forEachInRect(10, 2, 4, 8, found::add);
+
+        long expected = all.stream()
+            .filter(o -> o.getX() >= 4 && o.getX() <= 10 && o.getY() >= 2 && o.getY() <= 8)
+            .count();
+        Assert.assertEquals(expected, found.size());
+        for (GameObject o : found) {
+            Assert.assertTrue(o.getX() >= 4 && o.getX() <= 10 && o.getY() >= 2 && o.getY() <= 8);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package io.github.anthonyclemens.WorldGen;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HashNoiseTest {
+
+    @Test
+    public void testDeterministicAndBounded(){
+        HashNoise a = new HashNoise(3);
+        HashNoise b = new HashNoise(3);
+        for (int i = 0; i < 1000; i++) {
+            double x = i * 0.731 - 200;
+            double y = i * 0.377 + 50;
+            double v = a.generate(x, y);
+            Assert.assertEquals("Same seed should give the same noise", v, b.generate(x, y), 0.0);
+            Assert.assertTrue("Noise should stay within -1..1, got " + v, v >= -1.0 && v <= 1.0);
+        }
+        Assert.assertEquals("Lattice points should be zero", 0.0, a.generate(17, -4), 0.0);
+    }
+
+    @Test
+    public void testDoesNotRepeatEvery256Cells(){
+        HashNoise noise = new HashNoise(3);
+        PerlinNoise perlin = new PerlinNoise(3);
+        Assert.assertEquals("Perlin wraps at 256 cells", perlin.generate(1.3, 2.6), perlin.generate(257.3, 2.6), 1e-12);
+        Assert.assertNotEquals("Hash noise should not wrap", noise.generate(1.3, 2.6), noise.generate(257.3, 2.6), 1e-6);
+    }
+
+    @Test
+    public void testGridMatchesPointSamples(){
+        HashNoise noise = new HashNoise(11);
+        double[] grid = new double[19 * 7];
+        noise.generateGrid(-5.5, 1000.25, 0.3, 0.45, 19, 7, grid);
+        for (int j = 0; j < 7; j++) {
+            for (int i = 0; i < 19; i++) {
+                Assert.assertEquals(noise.generate(-5.5 + i * 0.3, 1000.25 + j * 0.45), grid[j * 19 + i], 0.0);
+            }
+        }
+    }
+
+    @Test
+    public void testFbmOctavesUseDifferentSeeds(){
+        HashNoise noise = new HashNoise(5);
+        Assert.assertNotEquals(noise.generateOctave(0.4, 0.6, 0), noise.generateOctave(0.4, 0.6, 1), 1e-9);
+        double v = noise.fbm(12.3, 45.6, 5, 2.0, 0.5);
+        Assert.assertTrue("fBm should stay within -1..1", v >= -1.0 && v <= 1.0);
+    }
+}
@@ -0,0 +1,70 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LodBuilderTest {
+    private static final int SIZE = 24;
+
+    @Test
+    public void testModeOfFourPrefersCountThenLowestId(){
+        Assert.assertEquals(7, LodBuilder.modeOfFour(9, 7, 7, 3));
+        Assert.assertEquals("Two pairs tie, lowest wins", 2, LodBuilder.modeOfFour(5, 2, 5, 2));
+        Assert.assertEquals("All distinct, lowest wins", 1, LodBuilder.modeOfFour(4, 3, 1, 2));
+    }
+
+    @Test
+    public void testBuildMatchesNaiveMode(){
+        TileBuffer tiles = randomTiles(3);
+        byte[] lod1 = new byte[12 * 12];
+        byte[] lod2 = new byte[3 * 3];
+        LodBuilder.build(tiles, lod1, lod2);
+        for (int y = 0; y < 12; y++) {
+            for (int x = 0; x < 12; x++) Assert.assertEquals(naiveMode(tiles, x * 2, y * 2, 2), lod1[y * 12 + x] & 0xFF);
+        }
+        for (int y = 0; y < 3; y++) {
+            for (int x = 0; x < 3; x++) Assert.assertEquals(naiveMode(tiles, x * 8, y * 8, 8), lod2[y * 3 + x] & 0xFF);
+        }
+    }
+
+    @Test
+    public void testUpdateMatchesRebuild(){
+        TileBuffer tiles = randomTiles(4);
+        byte[] lod1 = new byte[12 * 12];
+        byte[] lod2 = new byte[3 * 3];
+        LodBuilder.build(tiles, lod1, lod2);
+        Random rand = new Random(9);
+        for (int i = 0; i < 200; i++) {
+            int x = rand.nextInt(SIZE);
+            int y = rand.nextInt(SIZE);
+            tiles.set(x, y, 100);
+            LodBuilder.update(tiles, lod1, lod2, x, y);
+        }
+        byte[] fresh1 = new byte[12 * 12];
+        byte[] fresh2 = new byte[3 * 3];
+        LodBuilder.build(tiles, fresh1, fresh2);
+        Assert.assertArrayEquals("Incremental LOD1 should match a rebuild", fresh1, lod1);
+        Assert.assertArrayEquals("Incremental LOD2 should match a rebuild", fresh2, lod2);
+    }
+
+    private static TileBuffer randomTiles(long seed) {
+        TileBuffer tiles = new TileBuffer(SIZE);
+        Random rand = new Random(seed);
+        for (int i = 0; i < SIZE * SIZE; i++) tiles.set(i, 50 + rand.nextInt(5));
+        return tiles;
+    }
+
+    private static int naiveMode(TileBuffer tiles, int x0, int y0, int side) {
+        int[] counts = new int[256];
+        for (int y = y0; y < y0 + side; y++) {
+            for (int x = x0; x < x0 + side; x++) counts[tiles.get(x, y)]++;
+        }
+        int best = 0;
+        for (int id = 1; id < 256; id++) {
+            if (counts[id] > counts[best]) best = id;
+        }
+        return best;
+    }
+}
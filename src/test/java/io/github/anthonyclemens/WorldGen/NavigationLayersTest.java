@@ -0,0 +1,22 @@
+package io.github.anthonyclemens.WorldGen;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class NavigationLayersTest {
+
+    @Test
+    public void testCostsFollowTiles(){
+        TileBuffer tiles = new TileBuffer(4);
+        tiles.set(1, 1, 23);
+        NavigationLayers layers = new NavigationLayers(tiles);
+        Assert.assertEquals(1, layers.costAt(MovementClass.LAND, 0, 0));
+        Assert.assertEquals(TileGrid.BLOCKED, layers.costAt(MovementClass.WATER, 0, 0));
+        Assert.assertEquals("Land mobs wade", 3, layers.costAt(MovementClass.LAND, 1, 1));
+        Assert.assertEquals(1, layers.costAt(MovementClass.WATER, 1, 1));
+
+        layers.update(1, 1, 4);
+        Assert.assertEquals(1, layers.costAt(MovementClass.LAND, 1, 1));
+        Assert.assertEquals(TileGrid.BLOCKED, layers.costAt(MovementClass.WATER, 1, 1));
+    }
+}
@@ -0,0 +1,81 @@
+package io.github.anthonyclemens.WorldGen;
+
+/**
+ * Microbenchmark comparing PerlinNoise and HashNoise, point-at-a-time and through generateGrid,
+ * filling the 36x36 elevation grid BiomeCache builds for each region. Also times 4-octave fBm.
+ * Not a unit test; run it manually with
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.github.anthonyclemens.WorldGen.NoiseBenchmark
+ */
+public class NoiseBenchmark {
+    private static final int SIDE = 36;
+    private static final double FREQ = 0.010;
+    private static final int WARMUP_REGIONS = 20_000;
+    private static final int MEASURED_REGIONS = 50_000;
+
+    public static void main(String[] args) {
+        PerlinNoise perlin = new PerlinNoise(1);
+        HashNoise hash = new HashNoise(1);
+        double[] out = new double[SIDE * SIDE];
+
+        for (int i = 0; i < WARMUP_REGIONS; i++) {
+            pointRegion(perlin, i, out);
+            gridRegion(perlin, i, out);
+            pointRegion(hash, i, out);
+            gridRegion(hash, i, out);
+            fbmRegion(perlin, i, out);
+            fbmRegion(hash, i, out);
+        }
+
+        report("Perlin generate", measure(r -> pointRegion(perlin, r, out)));
+        report("Perlin grid", measure(r -> gridRegion(perlin, r, out)));
+        report("Perlin fbm x4", measure(r -> fbmRegion(perlin, r, out)));
+        report("Hash generate", measure(r -> pointRegion(hash, r, out)));
+        report("Hash grid", measure(r -> gridRegion(hash, r, out)));
+        report("Hash fbm x4", measure(r -> fbmRegion(hash, r, out)));
+    }
+
+    private static double fbmRegion(NoiseGenerator noise, int region, double[] out) {
+        double x0 = (region % 64) * 32 * FREQ;
+        double y0 = (region / 64) * 32 * FREQ;
+        for (int j = 0; j < SIDE; j++) {
+            for (int i = 0; i < SIDE; i++) out[j * SIDE + i] = noise.fbm(x0 + i * FREQ, y0 + j * FREQ, 4, 2.0, 0.5);
+        }
+        return out[region % out.length];
+    }
+
+    private static double pointRegion(NoiseGenerator noise, int region, double[] out) {
+        double x0 = (region % 64) * 32 * FREQ;
+        double y0 = (region / 64) * 32 * FREQ;
+        for (int j = 0; j < SIDE; j++) {
+            for (int i = 0; i < SIDE; i++) out[j * SIDE + i] = noise.generate(x0 + i * FREQ, y0 + j * FREQ);
+        }
+        return out[region % out.length];
+    }
+
+    private static double gridRegion(NoiseGenerator noise, int region, double[] out) {
+        double x0 = (region % 64) * 32 * FREQ;
+        double y0 = (region / 64) * 32 * FREQ;
+        noise.generateGrid(x0, y0, FREQ, FREQ, SIDE, SIDE, out);
+        return out[region % out.length];
+    }
+
+    private static long measure(RegionRunner runner) {
+        double sink = 0;
+        long start = System.nanoTime();
+        for (int r = 0; r < MEASURED_REGIONS; r++) sink += runner.run(r);
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) System.out.print("");
+        return elapsed;
+    }
+
+    private static void report(String label, long elapsed) {
+        long samples = (long) MEASURED_REGIONS * SIDE * SIDE;
+        System.out.printf("%-16s %8.2f ns/sample  %8.2f us/region%n",
+            label, elapsed / (double) samples, elapsed / 1000.0 / MEASURED_REGIONS);
+    }
+
+    @FunctionalInterface
+    private interface RegionRunner {
+        double run(int region);
+    }
+}
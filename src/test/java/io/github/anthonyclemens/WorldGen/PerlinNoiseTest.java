@@ -0,0 +1,25 @@
+package io.github.anthonyclemens.WorldGen;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PerlinNoiseTest {
+
+    @Test
+    public void testGridMatchesPointSamples(){
+        PerlinNoise noise = new PerlinNoise(99);
+        int w = 37;
+        int h = 23;
+        double x0 = -3.7;
+        double y0 = 250.2;
+        double dx = 0.13;
+        double dy = 0.21;
+        double[] grid = new double[w * h];
+        noise.generateGrid(x0, y0, dx, dy, w, h, grid);
+        for (int j = 0; j < h; j++) {
+            for (int i = 0; i < w; i++) {
+                Assert.assertEquals("Sample " + i + "," + j, noise.generate(x0 + i * dx, y0 + j * dy), grid[j * w + i], 0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package io.github.anthonyclemens.WorldGen;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PopulationManagerTest {
+
+    @Test
+    public void testChunkAndGlobalCaps(){
+        PopulationManager population = new PopulationManager(1);
+        population.setBudget(2, 5, 2, 4);
+        population.record(0, 0, true);
+        Assert.assertTrue(population.canSpawnHostile(0, 0));
+        population.record(0, 0, true);
+        Assert.assertFalse("Chunk cap reached", population.canSpawnHostile(0, 0));
+        Assert.assertTrue(population.canSpawnHostile(1, 0));
+        population.record(1, 0, true);
+        population.record(2, 0, true);
+        population.record(3, 0, true);
+        Assert.assertFalse("Global cap reached", population.canSpawnHostile(4, 0));
+        // Passive mobs count towards neither cap
+        population.resetCounts();
+        population.record(0, 0, false);
+        population.record(0, 0, false);
+        Assert.assertTrue(population.canSpawnHostile(0, 0));
+        Assert.assertEquals(0, population.getHostileCount());
+    }
+
+    @Test
+    public void testRegionCounts(){
+        PopulationManager population = new PopulationManager(1);
+        int edge = PopulationManager.REGION_CHUNKS;
+        population.record(0, 0, true);
+        population.record(edge - 1, edge - 1, false);
+        population.record(edge, 0, true);
+        population.record(-1, 0, true);
+        Assert.assertEquals(1, population.getRegionCount(0, 0, true));
+        Assert.assertEquals(1, population.getRegionCount(3, 3, false));
+        Assert.assertEquals(1, population.getRegionCount(edge, 0, true));
+        Assert.assertEquals(1, population.getRegionCount(-edge, 0, true));
+        Assert.assertEquals(3, population.getHostileCount());
+        Assert.assertEquals(1, population.getPassiveCount());
+    }
+}
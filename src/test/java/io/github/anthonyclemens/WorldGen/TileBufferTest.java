@@ -0,0 +1,48 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TileBufferTest {
+
+    @Test
+    public void testCompactKeepsTiles(){
+        TileBuffer buffer = new TileBuffer(24);
+        Random rand = new Random(7);
+        int[] expected = new int[24 * 24];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = 50 + rand.nextInt(5);
+            buffer.set(i % 24, i / 24, expected[i]);
+        }
+        Assert.assertTrue("Five distinct tiles should fit a palette", buffer.compact());
+        Assert.assertEquals("Five palette entries need 4 bits per tile", 4, buffer.getBitsPerTile());
+        for (int i = 0; i < expected.length; i++) {
+            Assert.assertEquals("Tile " + i + " should survive compaction", expected[i], buffer.get(i % 24, i / 24));
+        }
+    }
+
+    @Test
+    public void testSingleTileUsesNoIndexBits(){
+        TileBuffer buffer = new TileBuffer(24);
+        for (int i = 0; i < 24 * 24; i++) buffer.set(i, 27);
+        buffer.compact();
+        Assert.assertEquals(0, buffer.getBitsPerTile());
+        Assert.assertEquals(27, buffer.get(23, 23));
+        buffer.set(3, 4, 200);
+        Assert.assertEquals("New ID should widen the palette", 1, buffer.getBitsPerTile());
+        Assert.assertEquals(200, buffer.get(3, 4));
+        Assert.assertEquals(27, buffer.get(4, 3));
+    }
+
+    @Test
+    public void testPaletteOverflowFallsBackToRaw(){
+        TileBuffer buffer = new TileBuffer(8);
+        buffer.compact();
+        for (int i = 0; i < 20; i++) buffer.set(i, i + 100);
+        Assert.assertFalse("More than 16 IDs should go back to raw bytes", buffer.isPaletted());
+        for (int i = 0; i < 20; i++) Assert.assertEquals(i + 100, buffer.get(i));
+        Assert.assertEquals(0, buffer.get(63));
+    }
+}
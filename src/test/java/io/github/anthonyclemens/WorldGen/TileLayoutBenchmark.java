@@ -0,0 +1,117 @@
+package io.github.anthonyclemens.WorldGen;
+
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Microbenchmark comparing the old jagged byte[x][y] tile layout against TileBuffer,
+ * both raw and palette packed. Measures the heap each layout takes for a full render window
+ * of chunks, and the time for one render pass that reads every tile of every chunk.
+ * Not a unit test; run it manually with
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=io.github.anthonyclemens.WorldGen.TileLayoutBenchmark
+ */
+public class TileLayoutBenchmark {
+    private static final int SIZE = World.CHUNK_SIZE;
+    private static final int RENDER_DISTANCE = 8;
+    private static final int CHUNKS = (2 * RENDER_DISTANCE + 1) * (2 * RENDER_DISTANCE + 1);
+    private static final int WARMUP_PASSES = 2_000;
+    private static final int MEASURED_PASSES = 5_000;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) {
+        int[][] source = new int[CHUNKS][SIZE * SIZE];
+        Random rand = new Random(1);
+        for (int[] chunk : source) {
+            // Like a plains or mountain chunk: a handful of distinct IDs
+            int base = rand.nextInt(50);
+            for (int i = 0; i < chunk.length; i++) chunk[i] = base + rand.nextInt(5);
+        }
+
+        long before = allocated();
+        byte[][][] jagged = new byte[CHUNKS][][];
+        for (int c = 0; c < CHUNKS; c++) {
+            jagged[c] = new byte[SIZE][SIZE];
+            for (int i = 0; i < SIZE * SIZE; i++) jagged[c][i % SIZE][i / SIZE] = (byte) source[c][i];
+        }
+        long jaggedBytes = allocated() - before;
+
+        before = allocated();
+        TileBuffer[] flat = buildBuffers(source, false);
+        long flatBytes = allocated() - before;
+
+        before = allocated();
+        TileBuffer[] packed = buildBuffers(source, true);
+        // Compaction allocates the raw buffer first; count only what stays live
+        long packedBytes = 0;
+        for (TileBuffer b : packed) packedBytes += b.estimateBytes();
+        long packedTransient = allocated() - before;
+
+        for (int i = 0; i < WARMUP_PASSES; i++) {
+            jaggedPass(jagged);
+            bufferPass(flat);
+            bufferPass(packed);
+        }
+
+        report("byte[x][y]", jaggedBytes, measure(() -> jaggedPass(jagged)));
+        report("TileBuffer raw", flatBytes, measure(() -> bufferPass(flat)));
+        report("TileBuffer packed", packedBytes, measure(() -> bufferPass(packed)));
+        System.out.printf("(packed build allocated %d bytes including the raw staging buffers)%n", packedTransient);
+    }
+
+    private static TileBuffer[] buildBuffers(int[][] source, boolean compact) {
+        TileBuffer[] out = new TileBuffer[source.length];
+        for (int c = 0; c < source.length; c++) {
+            out[c] = new TileBuffer(SIZE);
+            for (int i = 0; i < SIZE * SIZE; i++) out[c].set(i, source[c][i]);
+            if (compact) out[c].compact();
+        }
+        return out;
+    }
+
+    private static long measure(PassRunner pass) {
+        long sink = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_PASSES; i++) sink += pass.run();
+        long elapsed = System.nanoTime() - start;
+        if (sink == 42) System.out.print("");
+        return elapsed;
+    }
+
+    private static void report(String label, long bytes, long elapsed) {
+        long reads = (long) MEASURED_PASSES * CHUNKS * SIZE * SIZE;
+        System.out.printf("%-18s %8.3f ns/tile  %8.3f ms/pass  %10d bytes for %d chunks%n",
+            label, elapsed / (double) reads, elapsed / 1_000_000.0 / MEASURED_PASSES, bytes, CHUNKS);
+    }
+
+    // Same access order as the renderer: row by row within each chunk
+    private static int jaggedPass(byte[][][] chunks) {
+        int sum = 0;
+        for (byte[][] tiles : chunks) {
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) sum += tiles[x][y] & 0xFF;
+            }
+        }
+        return sum;
+    }
+
+    private static int bufferPass(TileBuffer[] chunks) {
+        int sum = 0;
+        for (TileBuffer tiles : chunks) {
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) sum += tiles.get(x, y);
+            }
+        }
+        return sum;
+    }
+
+    private static long allocated() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    @FunctionalInterface
+    private interface PassRunner {
+        int run();
+    }
+}
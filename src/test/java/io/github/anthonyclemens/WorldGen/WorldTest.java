@@ -0,0 +1,33 @@
+package io.github.anthonyclemens.WorldGen;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WorldTest {
+
+    @Test
+    public void testChunkSeedDependsOnlyOnCoordinates(){
+        Assert.assertEquals("Same inputs should give the same seed", World.chunkSeed(42, 3, -5), World.chunkSeed(42, 3, -5));
+        Assert.assertNotEquals("Neighbouring chunks should not share a seed", World.chunkSeed(42, 3, -5), World.chunkSeed(42, 3, -4));
+        Assert.assertNotEquals("Swapped coordinates should not share a seed", World.chunkSeed(42, 1, 2), World.chunkSeed(42, 2, 1));
+        Assert.assertNotEquals("Different worlds should not share a seed", World.chunkSeed(42, 0, 0), World.chunkSeed(43, 0, 0));
+    }
+
+    @Test
+    public void testSimulationTierBoundaries(){
+        World world = new World(42);
+        world.setSimulationTiers(2, 5, 4);
+        Assert.assertEquals(SimulationTier.NEAR, world.getSimulationTier(10, 10, 10, 10));
+        Assert.assertEquals(SimulationTier.NEAR, world.getSimulationTier(12, 8, 10, 10));
+        Assert.assertEquals(SimulationTier.MID, world.getSimulationTier(13, 10, 10, 10));
+        // Chebyshev distance: a diagonal counts as its longer axis
+        Assert.assertEquals(SimulationTier.MID, world.getSimulationTier(5, 15, 10, 10));
+        Assert.assertEquals(SimulationTier.FAR, world.getSimulationTier(10, 16, 10, 10));
+        Assert.assertEquals(SimulationTier.FAR, world.getSimulationTier(-6, 0, 0, 0));
+
+        // A mid radius below the near radius leaves no mid ring
+        world.setSimulationTiers(3, 1, 4);
+        Assert.assertEquals(SimulationTier.NEAR, world.getSimulationTier(3, 0, 0, 0));
+        Assert.assertEquals(SimulationTier.FAR, world.getSimulationTier(4, 0, 0, 0));
+    }
+}
@@ -0,0 +1,66 @@
+package io.github.anthonyclemens.utils;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentLongMapTest {
+    private ConcurrentLongMap<String> map;
+
+    @Before
+    public void setup(){
+        map = new ConcurrentLongMap<>(16);
+    }
+
+    @Test
+    public void testPackRoundTrip(){
+        long key = ConcurrentLongMap.pack(-7, 123456);
+        Assert.assertEquals("X should survive packing", -7, ConcurrentLongMap.unpackX(key));
+        Assert.assertEquals("Y should survive packing", 123456, ConcurrentLongMap.unpackY(key));
+        Assert.assertNotEquals("Swapped coordinates should not collide", ConcurrentLongMap.pack(1, 2), ConcurrentLongMap.pack(2, 1));
+    }
+
+    @Test
+    public void testPutGetAcrossResize(){
+        for (int x = -20; x < 20; x++) {
+            for (int y = -20; y < 20; y++) {
+                map.put(ConcurrentLongMap.pack(x, y), x + "," + y);
+            }
+        }
+        Assert.assertEquals("All 1600 keys should be stored", 1600, map.size());
+        Assert.assertEquals("-3,17", map.get(ConcurrentLongMap.pack(-3, 17)));
+        Assert.assertNull("Absent key should miss", map.get(ConcurrentLongMap.pack(50, 50)));
+    }
+
+    @Test
+    public void testRemoveKeepsProbeChains(){
+        for (int i = 0; i < 500; i++) map.put(i, "v" + i);
+        for (int i = 0; i < 500; i += 2) Assert.assertEquals("v" + i, map.remove(i));
+        Assert.assertEquals(250, map.size());
+        for (int i = 1; i < 500; i += 2) {
+            Assert.assertEquals("Odd keys should still be reachable after removals", "v" + i, map.get(i));
+        }
+        Assert.assertNull("Removed key should miss", map.get(10));
+    }
+
+    @Test
+    public void testComputeIfAbsentKeepsFirstValue(){
+        Assert.assertEquals("a", map.computeIfAbsent(5, k -> "a"));
+        Assert.assertEquals("Existing value should be returned", "a", map.computeIfAbsent(5, k -> "b"));
+        Assert.assertEquals("a", map.putIfAbsent(5, "c"));
+    }
+
+    @Test
+    public void testRemoveAllWithCollidingKeys(){
+        // 12 keys in a 32 slot table: several share a home slot and sit in probe chains
+        for (int i = 0; i < 12; i++) map.put(ConcurrentLongMap.pack(i, -i), "v" + i);
+        Set<String> drained = new HashSet<>();
+        map.removeAll(drained::add);
+        Assert.assertEquals("Every entry should be handed over", 12, drained.size());
+        Assert.assertTrue(map.isEmpty());
+        Assert.assertNull(map.get(ConcurrentLongMap.pack(3, -3)));
+    }
+}